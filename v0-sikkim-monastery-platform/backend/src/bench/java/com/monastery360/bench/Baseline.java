@@ -0,0 +1,119 @@
+package com.monastery360.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Named measurements from one benchmark run, e.g. {@code score} and
+ * {@code allocBytesPerOp} per JMH benchmark, stored as JSON so a later run can
+ * be compared against a committed baseline.
+ */
+final class Baseline {
+
+    static final String BASELINE_DIR = "bench/baselines";
+    static final String RESULT_DIR = "target/bench";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, LinkedHashMap<String, Double>>> RESULTS =
+            new TypeReference<LinkedHashMap<String, LinkedHashMap<String, Double>>>() {
+            };
+
+    private final Map<String, Map<String, Double>> results = new LinkedHashMap<>();
+
+    void put(String name, String metric, double value) {
+        Map<String, Double> metrics = results.get(name);
+        if (metrics == null) {
+            metrics = new LinkedHashMap<>();
+            results.put(name, metrics);
+        }
+        metrics.put(metric, value);
+    }
+
+    /**
+     * Writes this run under target/bench and, when {@code bench.saveBaseline}
+     * is set, over {@code bench/baselines/<suite>.json} as well.
+     */
+    void save(String suite) throws IOException {
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        write(new File(RESULT_DIR, suite + "-" + stamp + ".json"));
+        if (Boolean.getBoolean("bench.saveBaseline")) {
+            File baseline = new File(BASELINE_DIR, suite + ".json");
+            write(baseline);
+            System.out.println("Saved baseline " + baseline);
+        }
+    }
+
+    /**
+     * Compares this run against the committed baseline of {@code suite}.
+     * Metrics named in {@code higherIsBetter} regress when they drop by more
+     * than {@code bench.threshold} (default 10%); all others when they grow
+     * by more. Benchmarks missing from either side are skipped.
+     *
+     * @return the regressions found, empty when there is no baseline
+     */
+    List<String> compare(String suite, Set<String> higherIsBetter) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        File file = new File(BASELINE_DIR, suite + ".json");
+        if (!file.isFile()) {
+            System.out.println("No baseline at " + file + "; record one with -Dbench.saveBaseline=true");
+            return regressions;
+        }
+        double threshold = Double.parseDouble(System.getProperty("bench.threshold", "0.10"));
+        Map<String, LinkedHashMap<String, Double>> baseline = MAPPER.readValue(file, RESULTS);
+        for (Map.Entry<String, Map<String, Double>> result : results.entrySet()) {
+            Map<String, Double> before = baseline.get(result.getKey());
+            if (before == null) {
+                continue;
+            }
+            for (Map.Entry<String, Double> metric : result.getValue().entrySet()) {
+                Double old = before.get(metric.getKey());
+                if (old == null || old == 0) {
+                    continue;
+                }
+                double change = (metric.getValue() - old) / old;
+                boolean worse = higherIsBetter.contains(metric.getKey()) ? change < -threshold : change > threshold;
+                if (worse) {
+                    regressions.add(String.format("%s %s: %.2f -> %.2f (%+.1f%%)",
+                            result.getKey(), metric.getKey(), old, metric.getValue(), change * 100));
+                }
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Prints the regressions and, when {@code bench.failOnRegression} is set,
+     * exits non-zero if there were any.
+     */
+    static void report(List<String> regressions) {
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions against baseline");
+            return;
+        }
+        System.out.println("Regressions against baseline:");
+        for (String regression : regressions) {
+            System.out.println("  " + regression);
+        }
+        if (Boolean.getBoolean("bench.failOnRegression")) {
+            System.exit(1);
+        }
+    }
+
+    private void write(File file) throws IOException {
+        File dir = file.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, results);
+    }
+}
@@ -0,0 +1,100 @@
+package com.monastery360.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monastery360.catalog.Catalog;
+import com.monastery360.catalog.EntityTable;
+import com.monastery360.catalog.EntityType;
+import com.monastery360.search.SearchService;
+import com.monastery360.search.SuggestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup work (catalog serialization and index builds) and the per-request
+ * cost of each way a collection can be written: the cached payload, a
+ * streamed page, and plain Jackson serialization as the uncached reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    @Param({"MONASTERY", "FESTIVAL", "ARCHIVE"})
+    public EntityType type;
+
+    private ObjectMapper objectMapper;
+    private Catalog catalog;
+    private EntityTable<?> table;
+    private final DiscardingOutputStream sink = new DiscardingOutputStream();
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        catalog = new Catalog(objectMapper);
+        table = catalog.table(type);
+    }
+
+    @Benchmark
+    public Catalog buildCatalog() {
+        return new Catalog(objectMapper);
+    }
+
+    @Benchmark
+    public SearchService buildSearchIndex() {
+        return new SearchService(catalog);
+    }
+
+    @Benchmark
+    public SuggestService buildSuggestIndex() {
+        return new SuggestService(catalog);
+    }
+
+    @Benchmark
+    public byte[] serializeWithObjectMapper() throws IOException {
+        return objectMapper.writeValueAsBytes(table.all());
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> cachedPayload() {
+        return table.json().respond(null, null);
+    }
+
+    @Benchmark
+    public long streamedPage() throws IOException {
+        sink.count = 0;
+        table.page(null, "ne", 20, null).writeTo(sink);
+        return sink.count;
+    }
+
+    static final class DiscardingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
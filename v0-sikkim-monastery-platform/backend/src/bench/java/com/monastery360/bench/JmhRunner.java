@@ -0,0 +1,64 @@
+package com.monastery360.bench;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Runs the JMH suites matching {@code bench.include} with the GC profiler,
+ * keeps the full JMH report in target/bench/jmh-report.json and compares
+ * time and allocation per operation against bench/baselines/jmh.json.
+ */
+public final class JmhRunner {
+
+    private JmhRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new File(Baseline.RESULT_DIR).mkdirs();
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("bench.include", ".*"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(Baseline.RESULT_DIR + "/jmh-report.json")
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Baseline run = new Baseline();
+        for (RunResult result : results) {
+            String name = name(result.getParams());
+            run.put(name, "score", result.getPrimaryResult().getScore());
+            Result<?> alloc = allocationRate(result.getSecondaryResults());
+            if (alloc != null) {
+                run.put(name, "allocBytesPerOp", alloc.getScore());
+            }
+        }
+        run.save("jmh");
+        Baseline.report(run.compare("jmh", Collections.<String>emptySet()));
+    }
+
+    private static String name(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        StringBuilder name = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+        for (String key : params.getParamsKeys()) {
+            name.append(' ').append(key).append('=').append(params.getParam(key));
+        }
+        return name.toString();
+    }
+
+    // The GC profiler's label lost its "·" prefix in later JMH releases
+    private static Result<?> allocationRate(Map<String, Result> secondary) {
+        Result<?> result = secondary.get("gc.alloc.rate.norm");
+        return result != null ? result : secondary.get("·gc.alloc.rate.norm");
+    }
+}
@@ -0,0 +1,284 @@
+package com.monastery360.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monastery360.Monastery360Application;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts the application on a random port and drives it over HTTP with
+ * {@code bench.clients} keep-alive clients. After a mixed warmup each
+ * endpoint gets its own {@code bench.durationSeconds} phase, so throughput,
+ * exact p50/p99/p999 latency and the server's allocation per request are
+ * attributable to that endpoint. The streamed collection views are first
+ * checked to return records, so a broken body cannot pass as fast.
+ * Allocation is read from the per-thread counters of Tomcat's request
+ * threads, so it covers framework overhead on the request path but not
+ * work handed to other threads, such as the media resize workers.
+ */
+public final class LoadDriver {
+
+    private static final String[] ENDPOINTS = {
+            "/api/monasteries",
+            "/api/festivals",
+            "/api/archives",
+            "/api/monasteries/1",
+            "/api/archives?limit=3&fields=title,image&lang=ne",
+            "/api/monasteries?limit=1&fields=name&lang=ne",
+            "/api/festivals?lang=en",
+            "/api/festivals?from=2026-01-01&to=2026-12-31",
+            "/api/batch?monasteries=1,2,3&festivals=1&archives=2,3",
+            "/api/search?q=rumtek",
+            "/api/search?q=losaar",
+            "/api/suggest?prefix=pem",
+            "/api/monasteries/near?lat=27.33&lng=88.61&radiusKm=50",
+    };
+    /**
+     * Views that go through the streamed page path; each must answer with a
+     * non-empty JSON array before anything is measured.
+     */
+    private static final String[] ARRAY_ENDPOINTS = {
+            "/api/archives?limit=3&fields=title,image&lang=ne",
+            "/api/monasteries?limit=1&fields=name&lang=ne",
+            "/api/festivals?lang=en",
+    };
+    private static final Set<String> HIGHER_IS_BETTER = new HashSet<>(Arrays.asList("requestsPerSecond"));
+    private static final int WARMUP_SECONDS = 10;
+    private static final String REQUEST_THREAD_PREFIX = "http-nio-";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("bench.clients", 16);
+        int seconds = Integer.getInteger("bench.durationSeconds", 10);
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        ConfigurableApplicationContext context = SpringApplication.run(Monastery360Application.class,
+                "--server.port=0",
+                "--logging.level.com.monastery360=WARN",
+                "--logging.level.org.springframework.web=WARN");
+        Baseline run = new Baseline();
+        try {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            for (String endpoint : ARRAY_ENDPOINTS) {
+                verifyArray(base + endpoint);
+            }
+            System.out.printf("Warming up for %ds with %d clients%n", WARMUP_SECONDS, clients);
+            phase(base, ENDPOINTS, clients, WARMUP_SECONDS);
+
+            System.out.printf("%-56s %10s %9s %9s %9s %12s %8s%n",
+                    "endpoint", "req/s", "p50 us", "p99 us", "p999 us", "alloc B/req", "gc ms");
+            for (String endpoint : ENDPOINTS) {
+                Phase phase = phase(base, new String[]{endpoint}, clients, seconds);
+                long[] latencies = phase.latencies();
+                Arrays.sort(latencies);
+                double requestsPerSecond = latencies.length / (double) seconds;
+                double p50 = percentile(latencies, 0.50);
+                double p99 = percentile(latencies, 0.99);
+                double p999 = percentile(latencies, 0.999);
+                double allocPerRequest = latencies.length == 0 ? 0 : phase.serverAllocatedBytes / (double) latencies.length;
+                System.out.printf("%-56s %10.0f %9.0f %9.0f %9.0f %12.0f %8d%s%n", endpoint, requestsPerSecond,
+                        p50, p99, p999, allocPerRequest, phase.gcMillis,
+                        phase.errors.get() > 0 ? "  (" + phase.errors.get() + " errors)" : "");
+                run.put(endpoint, "requestsPerSecond", requestsPerSecond);
+                run.put(endpoint, "p50Micros", p50);
+                run.put(endpoint, "p99Micros", p99);
+                run.put(endpoint, "p999Micros", p999);
+                run.put(endpoint, "allocBytesPerRequest", allocPerRequest);
+            }
+        } finally {
+            context.close();
+        }
+        run.save("load");
+        Baseline.report(run.compare("load", HIGHER_IS_BETTER));
+    }
+
+    // Fails the run when a view is not a non-empty array, e.g. an object serialized in place of a page
+    private static void verifyArray(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException(url + " answered " + status);
+        }
+        JsonNode body;
+        try (InputStream in = connection.getInputStream()) {
+            body = JSON.readTree(in);
+        }
+        if (!body.isArray() || body.size() == 0 || !body.get(0).has("id")) {
+            throw new IllegalStateException(url + " did not return a non-empty array of records: " + body);
+        }
+    }
+
+    private static Phase phase(String base, String[] endpoints, int clients, int seconds) throws Exception {
+        Phase phase = new Phase(clients);
+        CountDownLatch ready = new CountDownLatch(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[clients];
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(base, endpoints, i, phase, ready, start);
+            threads[i] = new Thread(client, "load-client-" + i);
+            phase.clients[i] = client;
+            threads[i].start();
+        }
+        ready.await();
+        long allocatedBefore = serverAllocatedBytes();
+        long gcBefore = gcMillis();
+        phase.deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        phase.serverAllocatedBytes = serverAllocatedBytes() - allocatedBefore;
+        phase.gcMillis = gcMillis() - gcBefore;
+        return phase;
+    }
+
+    // Bytes allocated so far by the live Tomcat request threads (acceptor, poller and workers)
+    private static long serverAllocatedBytes() {
+        long[] ids = THREADS.getAllThreadIds();
+        ThreadInfo[] infos = THREADS.getThreadInfo(ids, 0);
+        long[] allocated = THREADS.getThreadAllocatedBytes(ids);
+        long total = 0;
+        for (int i = 0; i < ids.length; i++) {
+            // A null entry is a thread that exited between the two calls
+            if (allocated[i] > 0 && infos[i] != null && infos[i].getThreadName().startsWith(REQUEST_THREAD_PREFIX)) {
+                total += allocated[i];
+            }
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    // Exact nearest-rank percentile of sorted nanosecond latencies, in microseconds
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1000.0;
+    }
+
+    private static final class Phase {
+
+        final Client[] clients;
+        final AtomicLong errors = new AtomicLong();
+        volatile long deadline;
+        long serverAllocatedBytes;
+        long gcMillis;
+
+        Phase(int clients) {
+            this.clients = new Client[clients];
+        }
+
+        long[] latencies() {
+            int total = 0;
+            for (Client client : clients) {
+                total += client.count;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (Client client : clients) {
+                System.arraycopy(client.latencies, 0, all, offset, client.count);
+                offset += client.count;
+            }
+            return all;
+        }
+    }
+
+    private static final class Client implements Runnable {
+
+        private final URL[] urls;
+        private final int offset;
+        private final Phase phase;
+        private final CountDownLatch ready;
+        private final CountDownLatch start;
+        private final byte[] buffer = new byte[16 * 1024];
+        long[] latencies = new long[1024];
+        int count;
+
+        Client(String base, String[] endpoints, int offset, Phase phase, CountDownLatch ready, CountDownLatch start)
+                throws IOException {
+            this.urls = new URL[endpoints.length];
+            for (int i = 0; i < endpoints.length; i++) {
+                urls[i] = new URL(base + endpoints[i]);
+            }
+            this.offset = offset;
+            this.phase = phase;
+            this.ready = ready;
+            this.start = start;
+        }
+
+        @Override
+        public void run() {
+            ready.countDown();
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long deadline = phase.deadline;
+            for (int i = offset; ; i++) {
+                long began = System.nanoTime();
+                if (began >= deadline) {
+                    return;
+                }
+                if (!fetch(urls[i % urls.length])) {
+                    phase.errors.incrementAndGet();
+                    continue;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - began;
+            }
+        }
+
+        // Reads the body to the end so the connection goes back to the keep-alive pool
+        private boolean fetch(URL url) {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                int status = connection.getResponseCode();
+                InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+                if (body != null) {
+                    try {
+                        while (body.read(buffer) >= 0) {
+                            // drain
+                        }
+                    } finally {
+                        body.close();
+                    }
+                }
+                return status == HttpURLConnection.HTTP_OK;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
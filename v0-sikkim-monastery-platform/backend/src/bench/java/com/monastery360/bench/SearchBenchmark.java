@@ -0,0 +1,60 @@
+package com.monastery360.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monastery360.catalog.Catalog;
+import com.monastery360.search.SearchResults;
+import com.monastery360.search.SearchService;
+import com.monastery360.search.SuggestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of search and typeahead over the seeded catalog: an exact
+ * name, Devanagari script, a multi-word query and misspellings that only
+ * the fuzzy index can answer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"rumtek", "रुम्तेक", "monastery festival", "losaar", "pemayangste"})
+    public String query;
+
+    private SearchService searchService;
+    private SuggestService suggestService;
+    private String prefix;
+
+    @Setup
+    public void setUp() {
+        Catalog catalog = new Catalog(new ObjectMapper());
+        searchService = new SearchService(catalog);
+        suggestService = new SuggestService(catalog);
+        prefix = query.substring(0, Math.min(3, query.length()));
+    }
+
+    @Benchmark
+    public SearchResults search() {
+        return searchService.search(query, 10);
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return suggestService.suggest(prefix, 5);
+    }
+}
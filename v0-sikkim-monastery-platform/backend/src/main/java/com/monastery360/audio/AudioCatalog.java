@@ -0,0 +1,114 @@
+package com.monastery360.audio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monastery360.catalog.IdIndex;
+import com.monastery360.catalog.JsonPayload;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Audio guides indexed by id, monastery and language. Every list an
+ * endpoint can return is serialized once at startup, like the main catalog.
+ */
+@Component
+public class AudioCatalog {
+
+    private final List<AudioGuide> guides;
+    private final IdIndex guideIndex;
+    private final JsonPayload[] guideJson;
+    private final JsonPayload allJson;
+    private final IdIndex monasteryIndex;
+    private final JsonPayload[] monasteryJson;
+    private final Map<String, JsonPayload> languageJson;
+    private final JsonPayload emptyJson;
+
+    @Autowired
+    public AudioCatalog(ObjectMapper objectMapper) {
+        this(objectMapper, AudioGuideSeed.guides());
+    }
+
+    public AudioCatalog(ObjectMapper objectMapper, List<AudioGuide> guides) {
+        this.guides = guides;
+        int[] ids = new int[guides.size()];
+        this.guideJson = new JsonPayload[guides.size()];
+        Map<Integer, List<AudioGuide>> byMonastery = new LinkedHashMap<>();
+        Map<String, List<AudioGuide>> byLanguage = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            AudioGuide guide = guides.get(i);
+            ids[i] = guide.getId();
+            guideJson[i] = JsonPayload.of(objectMapper, guide);
+            byMonastery.computeIfAbsent(guide.getMonasteryId(), id -> new ArrayList<>()).add(guide);
+            byLanguage.computeIfAbsent(normalize(guide.getLanguage()), language -> new ArrayList<>()).add(guide);
+        }
+        this.guideIndex = new IdIndex(ids);
+        this.allJson = JsonPayload.of(objectMapper, guides);
+        this.emptyJson = JsonPayload.of(objectMapper, Collections.emptyList());
+
+        int[] monasteryIds = new int[byMonastery.size()];
+        this.monasteryJson = new JsonPayload[byMonastery.size()];
+        int next = 0;
+        for (Map.Entry<Integer, List<AudioGuide>> entry : byMonastery.entrySet()) {
+            monasteryIds[next] = entry.getKey();
+            monasteryJson[next++] = JsonPayload.of(objectMapper, entry.getValue());
+        }
+        this.monasteryIndex = new IdIndex(monasteryIds);
+
+        this.languageJson = new HashMap<>();
+        for (Map.Entry<String, List<AudioGuide>> entry : byLanguage.entrySet()) {
+            languageJson.put(entry.getKey(), JsonPayload.of(objectMapper, entry.getValue()));
+        }
+    }
+
+    public List<AudioGuide> guides() {
+        return guides;
+    }
+
+    /**
+     * The guide with this id, or null.
+     */
+    public AudioGuide guide(int id) {
+        int position = guideIndex.indexOf(id);
+        return position < 0 ? null : guides.get(position);
+    }
+
+    public JsonPayload allJson() {
+        return allJson;
+    }
+
+    /**
+     * The serialized guide with this id, or null.
+     */
+    public JsonPayload guideJson(int id) {
+        int position = guideIndex.indexOf(id);
+        return position < 0 ? null : guideJson[position];
+    }
+
+    /**
+     * Guides for the monastery as a JSON array; empty if it has none.
+     */
+    public JsonPayload monasteryJson(int monasteryId) {
+        int position = monasteryIndex.indexOf(monasteryId);
+        return position < 0 ? emptyJson : monasteryJson[position];
+    }
+
+    /**
+     * Guides in the language (case-insensitive code such as {@code en}) as a
+     * JSON array; empty if there are none.
+     */
+    public JsonPayload languageJson(String language) {
+        JsonPayload payload = languageJson.get(normalize(language));
+        return payload == null ? emptyJson : payload;
+    }
+
+    private static String normalize(String language) {
+        return language.trim().toLowerCase(Locale.ROOT);
+    }
+}
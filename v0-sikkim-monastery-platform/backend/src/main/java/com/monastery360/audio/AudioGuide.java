@@ -0,0 +1,67 @@
+package com.monastery360.audio;
+
+public final class AudioGuide {
+
+    private final int id;
+    private final int monasteryId;
+    private final String language;
+    private final String title;
+    private final String description;
+    private final String duration;
+    private final String transcript;
+    private final String fileName;
+
+    public AudioGuide(int id, int monasteryId, String language, String title, String description, String duration,
+                      String transcript, String fileName) {
+        this.id = id;
+        this.monasteryId = monasteryId;
+        this.language = language;
+        this.title = title;
+        this.description = description;
+        this.duration = duration;
+        this.transcript = transcript;
+        this.fileName = fileName;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getMonasteryId() {
+        return monasteryId;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    /**
+     * Path of the streaming endpoint for this guide's track.
+     */
+    public String getAudioUrl() {
+        return "/api/audio-guides/" + id + "/stream";
+    }
+
+    public String getTranscript() {
+        return transcript;
+    }
+
+    /**
+     * Track file name inside the audio directory; not part of the API.
+     */
+    String fileName() {
+        return fileName;
+    }
+}
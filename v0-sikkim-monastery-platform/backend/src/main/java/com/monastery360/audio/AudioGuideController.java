@@ -0,0 +1,88 @@
+package com.monastery360.audio;
+
+import com.monastery360.catalog.JsonPayload;
+import com.monastery360.http.ConditionalResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:3000", "https://monastery360.vercel.app"})
+public class AudioGuideController {
+
+    private static final String TRACK_CACHE_CONTROL = "public, max-age=86400";
+
+    private final AudioCatalog audioCatalog;
+    private final AudioTracks audioTracks;
+
+    public AudioGuideController(AudioCatalog audioCatalog, AudioTracks audioTracks) {
+        this.audioCatalog = audioCatalog;
+        this.audioTracks = audioTracks;
+    }
+
+    @GetMapping("/api/audio-guides")
+    public ResponseEntity<byte[]> getAudioGuides(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return audioCatalog.allJson().respond(ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/api/audio-guides/{id}")
+    public ResponseEntity<byte[]> getAudioGuide(
+            @PathVariable int id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        JsonPayload payload = audioCatalog.guideJson(id);
+        return payload == null ? ResponseEntity.notFound().build() : payload.respond(ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/api/audio-guides/monastery/{monasteryId}")
+    public ResponseEntity<byte[]> getAudioGuidesByMonastery(
+            @PathVariable int monasteryId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return audioCatalog.monasteryJson(monasteryId).respond(ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/api/audio-guides/language/{language}")
+    public ResponseEntity<byte[]> getAudioGuidesByLanguage(
+            @PathVariable String language,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return audioCatalog.languageJson(language).respond(ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * The guide's audio track, with Range support so players can start
+     * immediately and seek without downloading the whole file.
+     */
+    @GetMapping("/api/audio-guides/{id}/stream")
+    public void streamAudioGuide(@PathVariable int id,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        AudioGuide guide = audioCatalog.guide(id);
+        if (guide == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        AudioTrack track;
+        try {
+            track = audioTracks.track(guide);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ConditionalResponse.serve(request, response, track.size(), track.etag(), track.lastModified(),
+                track.contentType(), TRACK_CACHE_CONTROL,
+                (position, count) -> track.writeTo(response.getOutputStream(), position, count));
+    }
+}
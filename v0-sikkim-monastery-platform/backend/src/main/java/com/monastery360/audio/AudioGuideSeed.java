@@ -0,0 +1,46 @@
+package com.monastery360.audio;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+final class AudioGuideSeed {
+
+    private AudioGuideSeed() {
+    }
+
+    static List<AudioGuide> guides() {
+        return Collections.unmodifiableList(Arrays.asList(
+                new AudioGuide(1, 1, "en",
+                        "Rumtek Monastery Guided Tour",
+                        "A walk through the main assembly hall, the Golden Stupa and the monks' quarters of the seat of the Karmapa lineage.",
+                        "12:30",
+                        "Welcome to Rumtek Monastery, the largest monastery in Sikkim and the seat of the Karmapa lineage of Tibetan Buddhism.",
+                        "rumtek-english.mp3"),
+                new AudioGuide(2, 1, "ne",
+                        "रुम्तेक गुम्बा निर्देशित भ्रमण",
+                        "कर्मपा वंशको पीठको मुख्य सभा कक्ष, सुनौलो स्तूप र भिक्षु निवासको भ्रमण।",
+                        "13:10",
+                        "रुम्तेक गुम्बामा स्वागत छ, सिक्किमको सबैभन्दा ठूलो गुम्बा र तिब्बती बौद्ध धर्मको कर्मपा वंशको पीठ।",
+                        "rumtek-nepali.mp3"),
+                new AudioGuide(3, 1, "hi",
+                        "रुमटेक मठ निर्देशित यात्रा",
+                        "करमापा वंश की पीठ के मुख्य सभा कक्ष, स्वर्ण स्तूप और भिक्षु आवासों की यात्रा।",
+                        "12:55",
+                        "रुमटेक मठ में आपका स्वागत है, सिक्किम का सबसे बड़ा मठ और तिब्बती बौद्ध धर्म की करमापा वंश की पीठ।",
+                        "rumtek-hindi.mp3"),
+                new AudioGuide(4, 2, "en",
+                        "Pemayangtse Monastery Guided Tour",
+                        "The ancient murals, the seven-tiered Zangdok Palri and the history of one of Sikkim's oldest monasteries.",
+                        "10:45",
+                        "Welcome to Pemayangtse Monastery, founded in 1705 and one of the oldest monasteries in Sikkim.",
+                        "pemayangtse-english.mp3"),
+                new AudioGuide(5, 2, "ne",
+                        "पेमायाङ्त्से गुम्बा निर्देशित भ्रमण",
+                        "प्राचीन भित्तिचित्र, सात तले जाङदोक पालरी र सिक्किमको सबैभन्दा पुरानो गुम्बाहरू मध्ये एकको इतिहास।",
+                        "11:20",
+                        "पेमायाङ्त्से गुम्बामा स्वागत छ, सन् १७०५ मा स्थापित सिक्किमको सबैभन्दा पुरानो गुम्बाहरू मध्ये एक।",
+                        "pemayangtse-nepali.mp3")
+        ));
+    }
+}
@@ -0,0 +1,151 @@
+package com.monastery360.audio;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A track file mapped read-only into memory. Range requests are served as
+ * slices of the mapping, so concurrent listeners seeking around the same
+ * track share the page cache instead of each reading the file. Popular
+ * tracks also keep their first bytes on the heap, which is what every new
+ * listener asks for first.
+ * <p>
+ * The mapping is only safe while the file keeps its length: reading a page
+ * past the end of a file truncated in place faults. Such reads surface as an
+ * {@link IOException} for the one response, but track files should be
+ * replaced by renaming a new file over the old one, which leaves existing
+ * mappings on the old contents.
+ */
+final class AudioTrack {
+
+    private final long size;
+    private final long lastModified;
+    private final String contentType;
+    private final MappedByteBuffer mapping;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicBoolean headClaimed = new AtomicBoolean();
+    private volatile long lastRequested;
+    private volatile byte[] head;
+
+    private AudioTrack(long size, long lastModified, String contentType, MappedByteBuffer mapping) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentType = contentType;
+        this.mapping = mapping;
+    }
+
+    static AudioTrack map(Path path, long size, long lastModified, String contentType) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Track too large to map: " + path);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new AudioTrack(size, lastModified, contentType,
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    long lastModified() {
+        return lastModified;
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    String etag() {
+        return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"";
+    }
+
+    /**
+     * Counts a request and returns the running total.
+     */
+    int recordRequest() {
+        lastRequested = System.nanoTime();
+        return requests.incrementAndGet();
+    }
+
+    long lastRequested() {
+        return lastRequested;
+    }
+
+    /**
+     * Claims the copying of the head, so only one of the requests that make
+     * a track hot pays for it. True for that request only, until the head
+     * is dropped again.
+     */
+    boolean claimHead() {
+        return !isHot() && headClaimed.compareAndSet(false, true);
+    }
+
+    /**
+     * Whether the head is held on the heap.
+     */
+    boolean isHot() {
+        return head != null;
+    }
+
+    /**
+     * A heap copy of the first {@code bytes} of the track.
+     */
+    byte[] readHead(int bytes) throws IOException {
+        byte[] copy = new byte[(int) Math.min(bytes, size)];
+        ByteBuffer source = mapping.duplicate();
+        try {
+            source.get(copy);
+        } catch (InternalError e) {
+            throw truncated(e);
+        }
+        return copy;
+    }
+
+    void setHead(byte[] bytes) {
+        head = bytes;
+    }
+
+    void dropHead() {
+        head = null;
+        headClaimed.set(false);
+    }
+
+    void writeTo(OutputStream out, long position, long count) throws IOException {
+        byte[] cached = head;
+        if (cached != null && position < cached.length) {
+            int n = (int) Math.min(cached.length - position, count);
+            out.write(cached, (int) position, n);
+            position += n;
+            count -= n;
+        }
+        if (count > 0) {
+            ByteBuffer slice = mapping.duplicate();
+            slice.position((int) position);
+            slice.limit((int) (position + count));
+            WritableByteChannel channel = Channels.newChannel(out);
+            try {
+                while (slice.hasRemaining()) {
+                    channel.write(slice);
+                }
+            } catch (InternalError e) {
+                throw truncated(e);
+            }
+        }
+    }
+
+    // The JVM reports a fault on a mapped page beyond the end of the file as an InternalError
+    private static IOException truncated(InternalError e) {
+        return new IOException("Track file was truncated while mapped", e);
+    }
+}
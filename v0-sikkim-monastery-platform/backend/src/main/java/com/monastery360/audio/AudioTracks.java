@@ -0,0 +1,125 @@
+package com.monastery360.audio;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mapped audio tracks, opened on first request. A track is remapped when
+ * its file's size or timestamp changes; replace files by renaming a new one
+ * into place rather than rewriting them, as responses in flight keep reading
+ * the old mapping (see {@link AudioTrack}). Once a track has been requested
+ * {@code hotAfterRequests} times its opening bytes are copied to the heap;
+ * at most {@code hotTracks} tracks hold such a copy, least recently
+ * requested first out. Requests for a track that is already hot take no
+ * lock.
+ */
+@Component
+public class AudioTracks {
+
+    private final Path directory;
+    private final int hotPrefixBytes;
+    private final int hotTracks;
+    private final int hotAfterRequests;
+    private final ConcurrentHashMap<Integer, AudioTrack> tracks = new ConcurrentHashMap<>();
+
+    /** Tracks holding a heap prefix; guarded by itself. */
+    private final HashMap<Integer, AudioTrack> hot = new HashMap<>();
+
+    public AudioTracks(@Value("${monastery360.audio.dir:../public/audio}") String directory,
+                       @Value("${monastery360.audio.hot-prefix-bytes:262144}") int hotPrefixBytes,
+                       @Value("${monastery360.audio.hot-tracks:32}") int hotTracks,
+                       @Value("${monastery360.audio.hot-after-requests:2}") int hotAfterRequests) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.hotPrefixBytes = hotPrefixBytes;
+        this.hotTracks = hotTracks;
+        this.hotAfterRequests = hotAfterRequests;
+    }
+
+    /**
+     * The mapped track for a guide, counting the request towards its
+     * popularity.
+     *
+     * @throws NoSuchFileException if the guide's file is missing
+     */
+    AudioTrack track(AudioGuide guide) throws IOException {
+        Path path = directory.resolve(guide.fileName()).normalize();
+        if (!path.getParent().equals(directory)) {
+            throw new NoSuchFileException(guide.fileName());
+        }
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        AudioTrack track = tracks.get(guide.getId());
+        if (track == null || track.size() != attrs.size() || track.lastModified() != lastModified) {
+            track = AudioTrack.map(path, attrs.size(), lastModified, contentType(guide.fileName()));
+            AudioTrack previous = tracks.put(guide.getId(), track);
+            if (previous != null) {
+                synchronized (hot) {
+                    hot.remove(guide.getId(), previous);
+                }
+            }
+        }
+        if (track.recordRequest() >= hotAfterRequests && track.claimHead()) {
+            promote(guide.getId(), track);
+        }
+        return track;
+    }
+
+    private void promote(int id, AudioTrack track) throws IOException {
+        // Copied before taking the lock, as it may have to read the pages in from disk
+        byte[] head;
+        try {
+            head = track.readHead(hotPrefixBytes);
+        } catch (IOException | RuntimeException e) {
+            track.dropHead();
+            throw e;
+        }
+        synchronized (hot) {
+            if (tracks.get(id) != track) {
+                // Remapped meanwhile; the new track gets its own copy
+                return;
+            }
+            track.setHead(head);
+            hot.put(id, track);
+            while (hot.size() > hotTracks) {
+                Map.Entry<Integer, AudioTrack> eldest = null;
+                for (Map.Entry<Integer, AudioTrack> entry : hot.entrySet()) {
+                    if (eldest == null
+                            || entry.getValue().lastRequested() - eldest.getValue().lastRequested() < 0) {
+                        eldest = entry;
+                    }
+                }
+                AudioTrack evicted = eldest.getValue();
+                hot.remove(eldest.getKey());
+                evicted.dropHead();
+            }
+        }
+    }
+
+    private static String contentType(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".ogg") || lower.endsWith(".oga")) {
+            return "audio/ogg";
+        }
+        if (lower.endsWith(".m4a") || lower.endsWith(".mp4")) {
+            return "audio/mp4";
+        }
+        if (lower.endsWith(".aac")) {
+            return "audio/aac";
+        }
+        if (lower.endsWith(".wav")) {
+            return "audio/wav";
+        }
+        return "audio/mpeg";
+    }
+}
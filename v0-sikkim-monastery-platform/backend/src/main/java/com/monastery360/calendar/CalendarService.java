@@ -0,0 +1,121 @@
+package com.monastery360.calendar;
+
+import com.monastery360.catalog.Catalog;
+import com.monastery360.catalog.Festival;
+import com.monastery360.catalog.Monastery;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Date-range queries over the festival calendar. Each festival is parsed
+ * once into a {@link FestivalSeries} and stored in an interval tree keyed by
+ * the span of the whole series (unbounded for recurring events), so a query
+ * only expands the series that can reach its window, and only inside it.
+ */
+@Component
+public class CalendarService {
+
+    /** Longest window a single query may expand. */
+    public static final int MAX_WINDOW_DAYS = 366;
+
+    /** Monastery id for festivals held at every monastery. */
+    private static final int ALL_MONASTERIES = 0;
+
+    /** Monastery id for festivals at a site that is not in the catalog. */
+    private static final int UNKNOWN_MONASTERY = -1;
+
+    private static final Comparator<FestivalOccurrence> BY_DATE = Comparator
+            .comparing(FestivalOccurrence::getDate)
+            .thenComparingInt(FestivalOccurrence::getId);
+
+    private final List<FestivalSeries> series;
+    private final IntervalTree<FestivalSeries> tree;
+
+    public CalendarService(Catalog catalog) {
+        Map<String, Integer> monasteryIds = new HashMap<>();
+        for (Monastery monastery : catalog.monasteries()) {
+            monasteryIds.put(normalize(monastery.getName()), monastery.getId());
+        }
+        List<FestivalSeries> parsed = new ArrayList<>();
+        for (Festival festival : catalog.festivals()) {
+            parsed.add(new FestivalSeries(festival, monasteryId(festival.getLocation(), monasteryIds)));
+        }
+        this.series = parsed;
+        this.tree = new IntervalTree<>(parsed, new IntervalTree.IntervalOf<FestivalSeries>() {
+            @Override
+            public long start(FestivalSeries item) {
+                return item.startEpochDay();
+            }
+
+            @Override
+            public long end(FestivalSeries item) {
+                return item.endEpochDay();
+            }
+        });
+    }
+
+    /**
+     * Occurrences overlapping {@code from} through {@code to} inclusive,
+     * ordered by date then festival id. A null {@code monasteryId} matches
+     * every festival; otherwise it should be the id of a catalog monastery.
+     *
+     * @throws IllegalArgumentException if the window is empty or longer than
+     *                                  {@link #MAX_WINDOW_DAYS}
+     */
+    public List<FestivalOccurrence> between(LocalDate from, LocalDate to, Integer monasteryId) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Window must be 1 to " + MAX_WINDOW_DAYS + " days");
+        }
+        LocalDate end = to.plusDays(1);
+        List<FestivalOccurrence> occurrences = new ArrayList<>();
+        FestivalSeries.OccurrenceSink sink = (s, start, last) ->
+                occurrences.add(new FestivalOccurrence(s.festival(), start, last));
+        tree.overlapping(from.toEpochDay(), end.toEpochDay(), s -> {
+            if (monasteryId == null || heldAt(s, monasteryId)) {
+                s.occurrences(from, end, sink);
+            }
+        });
+        occurrences.sort(BY_DATE);
+        return occurrences;
+    }
+
+    /**
+     * Festivals held at the catalog monastery, in catalog order, without
+     * dating them.
+     */
+    public List<Festival> heldAt(int monasteryId) {
+        List<Festival> festivals = new ArrayList<>();
+        for (FestivalSeries s : series) {
+            if (heldAt(s, monasteryId)) {
+                festivals.add(s.festival());
+            }
+        }
+        return festivals;
+    }
+
+    private static boolean heldAt(FestivalSeries s, int monasteryId) {
+        return s.monasteryId() == monasteryId || s.monasteryId() == ALL_MONASTERIES;
+    }
+
+    private static int monasteryId(String location, Map<String, Integer> monasteryIds) {
+        String key = normalize(location);
+        if (key.equals("all monasteries")) {
+            return ALL_MONASTERIES;
+        }
+        Integer id = monasteryIds.get(key);
+        return id == null ? UNKNOWN_MONASTERY : id;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
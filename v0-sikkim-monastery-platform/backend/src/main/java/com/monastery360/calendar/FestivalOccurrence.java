@@ -0,0 +1,74 @@
+package com.monastery360.calendar;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.monastery360.catalog.Festival;
+
+import java.time.LocalDate;
+
+/**
+ * One dated occurrence of a festival. Serialized like the festival itself,
+ * with {@code date} moved to this occurrence and an inclusive
+ * {@code endDate} added.
+ */
+@JsonPropertyOrder({"id", "name", "nameNepali", "date", "endDate", "description", "descriptionNepali",
+        "location", "duration", "significance", "image", "recurrence"})
+public final class FestivalOccurrence {
+
+    private final Festival festival;
+    private final LocalDate date;
+    private final LocalDate endDate;
+
+    public FestivalOccurrence(Festival festival, LocalDate date, LocalDate endDate) {
+        this.festival = festival;
+        this.date = date;
+        this.endDate = endDate;
+    }
+
+    public int getId() {
+        return festival.getId();
+    }
+
+    public String getName() {
+        return festival.getName();
+    }
+
+    public String getNameNepali() {
+        return festival.getNameNepali();
+    }
+
+    public String getDate() {
+        return date.toString();
+    }
+
+    public String getEndDate() {
+        return endDate.toString();
+    }
+
+    public String getDescription() {
+        return festival.getDescription();
+    }
+
+    public String getDescriptionNepali() {
+        return festival.getDescriptionNepali();
+    }
+
+    public String getLocation() {
+        return festival.getLocation();
+    }
+
+    public String getDuration() {
+        return festival.getDuration();
+    }
+
+    public String getSignificance() {
+        return festival.getSignificance();
+    }
+
+    public String getImage() {
+        return festival.getImage();
+    }
+
+    public String getRecurrence() {
+        return festival.getRecurrence();
+    }
+}
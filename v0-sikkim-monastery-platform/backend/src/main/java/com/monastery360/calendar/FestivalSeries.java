@@ -0,0 +1,106 @@
+package com.monastery360.calendar;
+
+import com.monastery360.catalog.Festival;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * A festival parsed into a typed schedule: first start date, length in days
+ * and optional recurrence. Occurrences are generated on demand for a window
+ * only, never for the whole series.
+ */
+final class FestivalSeries {
+
+    private final Festival festival;
+    private final int monasteryId;
+    private final LocalDate first;
+    private final int lengthDays;
+    private final Recurrence recurrence;
+
+    FestivalSeries(Festival festival, int monasteryId) {
+        this.festival = festival;
+        this.monasteryId = monasteryId;
+        this.recurrence = Recurrence.parse(festival.getRecurrence());
+        LocalDate anchor = LocalDate.parse(festival.getDate());
+        this.first = recurrence == null ? anchor : recurrence.first(anchor);
+        this.lengthDays = parseLengthDays(festival.getDuration());
+    }
+
+    Festival festival() {
+        return festival;
+    }
+
+    int monasteryId() {
+        return monasteryId;
+    }
+
+    long startEpochDay() {
+        return first.toEpochDay();
+    }
+
+    /**
+     * Exclusive end of the whole series; unbounded for recurring events.
+     */
+    long endEpochDay() {
+        return recurrence == null ? first.toEpochDay() + lengthDays : Long.MAX_VALUE;
+    }
+
+    /**
+     * Emits the occurrences overlapping {@code [from, to)}, in start order.
+     */
+    void occurrences(LocalDate from, LocalDate to, OccurrenceSink sink) {
+        if (recurrence == null) {
+            emitIfOverlapping(first, from, to, sink);
+            return;
+        }
+        // The last occurrence that ends before the window cannot overlap it
+        long n = Math.max(0, recurrence.lastIndexOnOrBefore(first, from.minusDays(lengthDays)));
+        for (LocalDate start = recurrence.nth(first, n); start.isBefore(to); start = recurrence.nth(first, ++n)) {
+            emitIfOverlapping(start, from, to, sink);
+        }
+    }
+
+    private void emitIfOverlapping(LocalDate start, LocalDate from, LocalDate to, OccurrenceSink sink) {
+        LocalDate end = start.plusDays(lengthDays);
+        if (start.isBefore(to) && end.isAfter(from)) {
+            sink.accept(this, start, end.minusDays(1));
+        }
+    }
+
+    /**
+     * Whole days covered by a free-text duration such as "3 days" or
+     * "2 hours"; anything shorter than a day occupies its start date.
+     */
+    static int parseLengthDays(String duration) {
+        if (duration == null) {
+            return 1;
+        }
+        String[] parts = duration.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        if (parts.length != 2) {
+            return 1;
+        }
+        int amount;
+        try {
+            amount = Integer.parseInt(parts[0]);
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+        String unit = parts[1];
+        if (unit.startsWith("day")) {
+            return Math.max(1, amount);
+        }
+        if (unit.startsWith("week")) {
+            return Math.max(1, amount * 7);
+        }
+        return 1;
+    }
+
+    interface OccurrenceSink {
+
+        /**
+         * @param end last day of the occurrence, inclusive
+         */
+        void accept(FestivalSeries series, LocalDate start, LocalDate end);
+    }
+}
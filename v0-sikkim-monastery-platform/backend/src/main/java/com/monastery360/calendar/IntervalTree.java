@@ -0,0 +1,88 @@
+package com.monastery360.calendar;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Static augmented interval tree over half-open day intervals. Intervals are
+ * sorted by start and the tree is implicit in that array (the root of
+ * {@code [lo, hi)} is its midpoint), with each node holding the largest end
+ * in its subtree so non-overlapping subtrees are skipped.
+ */
+final class IntervalTree<T> {
+
+    private final Object[] values;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    IntervalTree(List<T> items, IntervalOf<T> interval) {
+        Object[] sorted = items.toArray();
+        @SuppressWarnings("unchecked")
+        Comparator<Object> byStart = Comparator.comparingLong(item -> interval.start((T) item));
+        Arrays.sort(sorted, byStart);
+        this.values = sorted;
+        this.starts = new long[sorted.length];
+        this.ends = new long[sorted.length];
+        this.maxEnds = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) sorted[i];
+            starts[i] = interval.start(item);
+            ends[i] = interval.end(item);
+        }
+        computeMaxEnds(0, sorted.length);
+    }
+
+    /**
+     * Visits every interval overlapping {@code [from, to)}.
+     */
+    void overlapping(long from, long to, Visitor<T> visitor) {
+        overlapping(0, values.length, from, to, visitor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void overlapping(int lo, int hi, long from, long to, Visitor<T> visitor) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= from) {
+                return;
+            }
+            overlapping(lo, mid, from, to, visitor);
+            if (starts[mid] >= to) {
+                // Everything to the right starts even later
+                return;
+            }
+            if (ends[mid] > from) {
+                visitor.visit((T) values[mid]);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    private long computeMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(computeMaxEnds(lo, mid), computeMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    interface IntervalOf<T> {
+
+        long start(T item);
+
+        /**
+         * Exclusive end.
+         */
+        long end(T item);
+    }
+
+    interface Visitor<T> {
+
+        void visit(T item);
+    }
+}
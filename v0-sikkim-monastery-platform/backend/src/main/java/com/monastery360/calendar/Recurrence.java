@@ -0,0 +1,157 @@
+package com.monastery360.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * The subset of iCalendar recurrence rules used by the festival catalog:
+ * {@code FREQ=WEEKLY} (optionally {@code BYDAY}), {@code FREQ=MONTHLY},
+ * {@code FREQ=YEARLY}, and {@code RSCALE=TIBETAN;FREQ=YEARLY} for festivals
+ * that follow the lunar calendar.
+ * <p>
+ * Lunar dates use the mean synodic month: each year advances twelve
+ * lunations, with a thirteenth inserted whenever the drift from the solar
+ * anniversary would exceed half a month. That keeps an event on the same
+ * mean lunar day and near its season without a calendar table, but the
+ * Tibetan almanac places leap months by its own rules, so a lunar date can
+ * be a month off in some years and should be presented as approximate.
+ */
+final class Recurrence {
+
+    private static final double SYNODIC_MONTH = 29.530588853;
+    private static final double TROPICAL_YEAR = 365.24219;
+
+    enum Frequency {
+        WEEKLY(7),
+        MONTHLY(30.436875),
+        YEARLY(365.2425);
+
+        final double averageDays;
+
+        Frequency(double averageDays) {
+            this.averageDays = averageDays;
+        }
+    }
+
+    private final Frequency frequency;
+    private final DayOfWeek byDay;
+    private final boolean lunar;
+
+    private Recurrence(Frequency frequency, DayOfWeek byDay, boolean lunar) {
+        this.frequency = frequency;
+        this.byDay = byDay;
+        this.lunar = lunar;
+    }
+
+    /**
+     * Parses a rule, returning null for a blank rule (a one-off event).
+     *
+     * @throws IllegalArgumentException if the rule is not supported
+     */
+    static Recurrence parse(String rule) {
+        if (rule == null || rule.trim().isEmpty()) {
+            return null;
+        }
+        Frequency frequency = null;
+        DayOfWeek byDay = null;
+        boolean lunar = false;
+        for (String part : rule.toUpperCase(Locale.ROOT).split(";")) {
+            int equals = part.indexOf('=');
+            String name = equals < 0 ? part : part.substring(0, equals);
+            String value = equals < 0 ? "" : part.substring(equals + 1);
+            switch (name) {
+                case "FREQ":
+                    frequency = Frequency.valueOf(value);
+                    break;
+                case "BYDAY":
+                    byDay = dayOfWeek(value);
+                    break;
+                case "RSCALE":
+                    if (!value.equals("TIBETAN") && !value.equals("GREGORIAN")) {
+                        throw new IllegalArgumentException("Unsupported RSCALE in " + rule);
+                    }
+                    lunar = value.equals("TIBETAN");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported recurrence part " + part + " in " + rule);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule without FREQ: " + rule);
+        }
+        if (lunar && frequency != Frequency.YEARLY) {
+            throw new IllegalArgumentException("Lunar recurrence must be yearly: " + rule);
+        }
+        if (byDay != null && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly rules: " + rule);
+        }
+        return new Recurrence(frequency, byDay, lunar);
+    }
+
+    /**
+     * The first occurrence on or after the anchor date.
+     */
+    LocalDate first(LocalDate anchor) {
+        return byDay == null ? anchor : anchor.with(TemporalAdjusters.nextOrSame(byDay));
+    }
+
+    /**
+     * Start of the {@code n}-th occurrence, counting {@code first} as zero.
+     */
+    LocalDate nth(LocalDate first, long n) {
+        if (lunar) {
+            long intercalary = Math.round(n * (TROPICAL_YEAR - 12 * SYNODIC_MONTH) / SYNODIC_MONTH);
+            return first.plusDays(Math.round((12 * n + intercalary) * SYNODIC_MONTH));
+        }
+        switch (frequency) {
+            case WEEKLY:
+                return first.plusWeeks(n);
+            case MONTHLY:
+                return first.plusMonths(n);
+            default:
+                return first.plusYears(n);
+        }
+    }
+
+    /**
+     * Index of the last occurrence starting on or before {@code date}, or -1
+     * if the series has not started by then.
+     */
+    long lastIndexOnOrBefore(LocalDate first, LocalDate date) {
+        if (date.isBefore(first)) {
+            return -1;
+        }
+        long n = (long) (ChronoUnit.DAYS.between(first, date) / frequency.averageDays);
+        while (n > 0 && nth(first, n).isAfter(date)) {
+            n--;
+        }
+        while (!nth(first, n + 1).isAfter(date)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static DayOfWeek dayOfWeek(String value) {
+        switch (value) {
+            case "MO":
+                return DayOfWeek.MONDAY;
+            case "TU":
+                return DayOfWeek.TUESDAY;
+            case "WE":
+                return DayOfWeek.WEDNESDAY;
+            case "TH":
+                return DayOfWeek.THURSDAY;
+            case "FR":
+                return DayOfWeek.FRIDAY;
+            case "SA":
+                return DayOfWeek.SATURDAY;
+            case "SU":
+                return DayOfWeek.SUNDAY;
+            default:
+                throw new IllegalArgumentException("Unsupported BYDAY " + value);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.monastery360.catalog;
+
+public final class Archive {
+
+    private final int id;
+    private final String title;
+    private final String titleNepali;
+    private final String description;
+    private final String descriptionNepali;
+    private final String category;
+    private final String period;
+    private final String location;
+    private final String significance;
+    private final String image;
+
+    public Archive(int id, String title, String titleNepali, String description, String descriptionNepali,
+                   String category, String period, String location, String significance, String image) {
+        this.id = id;
+        this.title = title;
+        this.titleNepali = titleNepali;
+        this.description = description;
+        this.descriptionNepali = descriptionNepali;
+        this.category = category;
+        this.period = period;
+        this.location = location;
+        this.significance = significance;
+        this.image = image;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getTitleNepali() {
+        return titleNepali;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getDescriptionNepali() {
+        return descriptionNepali;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getSignificance() {
+        return significance;
+    }
+
+    public String getImage() {
+        return image;
+    }
+}
@@ -0,0 +1,104 @@
+package com.monastery360.catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Assembles a multi-get response from per-entity cached bytes:
+ * {@code {"monasteries":[...],"archives":[...],"missing":{"archives":[5]}}}.
+ * Only requested collections appear, and {@code missing} only when some
+ * requested id was not found.
+ */
+final class BatchWriter {
+
+    private BatchWriter() {
+    }
+
+    static byte[] write(Catalog catalog, int[][] idsByType) {
+        EntityType[] types = EntityType.values();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        out.write('{');
+        boolean firstCollection = true;
+        boolean anyMissing = false;
+        for (EntityType type : types) {
+            int[] ids = idsByType[type.ordinal()];
+            if (ids == null) {
+                continue;
+            }
+            firstCollection = writeName(out, type.collection(), firstCollection);
+            out.write('[');
+            boolean first = true;
+            EntityTable<?> table = catalog.table(type);
+            for (int id : ids) {
+                JsonPayload entity = table.json(id);
+                if (entity == null) {
+                    anyMissing = true;
+                    continue;
+                }
+                if (!first) {
+                    out.write(',');
+                }
+                first = false;
+                byte[] bytes = entity.bytes();
+                out.write(bytes, 0, bytes.length);
+            }
+            out.write(']');
+        }
+        if (anyMissing) {
+            writeName(out, "missing", firstCollection);
+            writeMissing(out, catalog, idsByType);
+        }
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    private static void writeMissing(ByteArrayOutputStream out, Catalog catalog, int[][] idsByType) {
+        out.write('{');
+        boolean firstCollection = true;
+        for (EntityType type : EntityType.values()) {
+            int[] ids = idsByType[type.ordinal()];
+            if (ids == null) {
+                continue;
+            }
+            EntityTable<?> table = catalog.table(type);
+            boolean first = true;
+            for (int id : ids) {
+                if (table.json(id) != null) {
+                    continue;
+                }
+                if (first) {
+                    firstCollection = writeName(out, type.collection(), firstCollection);
+                    out.write('[');
+                } else {
+                    out.write(',');
+                }
+                first = false;
+                writeAscii(out, Integer.toString(id));
+            }
+            if (!first) {
+                out.write(']');
+            }
+        }
+        out.write('}');
+    }
+
+    /**
+     * Writes {@code "name":}, preceded by a comma unless it is the first
+     * member; returns false so callers can track the first member.
+     */
+    private static boolean writeName(ByteArrayOutputStream out, String name, boolean first) {
+        if (!first) {
+            out.write(',');
+        }
+        out.write('"');
+        writeAscii(out, name);
+        out.write('"');
+        out.write(':');
+        return false;
+    }
+
+    private static void writeAscii(ByteArrayOutputStream out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        out.write(bytes, 0, bytes.length);
+    }
+}
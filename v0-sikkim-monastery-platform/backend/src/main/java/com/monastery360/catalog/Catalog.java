@@ -0,0 +1,70 @@
+package com.monastery360.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Immutable in-memory catalog, loaded once at startup. Each collection and
+ * each entity is serialized a single time; endpoints serve the cached bytes
+ * directly.
+ */
+@Component
+public class Catalog {
+
+    /** Most ids a single batch request may ask for, across all collections. */
+    public static final int MAX_BATCH_IDS = 200;
+
+    private final EntityTable<Monastery> monasteries;
+    private final EntityTable<Festival> festivals;
+    private final EntityTable<Archive> archives;
+
+    @Autowired
+    public Catalog(ObjectMapper objectMapper) {
+        this(objectMapper, CatalogSeed.monasteries(), CatalogSeed.festivals(), CatalogSeed.archives());
+    }
+
+    public Catalog(ObjectMapper objectMapper, List<Monastery> monasteries, List<Festival> festivals, List<Archive> archives) {
+        this.monasteries = new EntityTable<>(objectMapper, monasteries, Monastery::getId, CatalogFields.MONASTERY);
+        this.festivals = new EntityTable<>(objectMapper, festivals, Festival::getId, CatalogFields.FESTIVAL);
+        this.archives = new EntityTable<>(objectMapper, archives, Archive::getId, CatalogFields.ARCHIVE);
+    }
+
+    public List<Monastery> monasteries() {
+        return monasteries.all();
+    }
+
+    public List<Festival> festivals() {
+        return festivals.all();
+    }
+
+    public List<Archive> archives() {
+        return archives.all();
+    }
+
+    public EntityTable<?> table(EntityType type) {
+        switch (type) {
+            case MONASTERY:
+                return monasteries;
+            case FESTIVAL:
+                return festivals;
+            default:
+                return archives;
+        }
+    }
+
+    /**
+     * A JSON object with the requested entities of each collection, in
+     * request order, plus a {@code missing} object listing ids that were not
+     * found. Collections whose ids are null are left out.
+     */
+    public byte[] batch(int[] monasteryIds, int[] festivalIds, int[] archiveIds) {
+        int[][] idsByType = new int[EntityType.values().length][];
+        idsByType[EntityType.MONASTERY.ordinal()] = monasteryIds;
+        idsByType[EntityType.FESTIVAL.ordinal()] = festivalIds;
+        idsByType[EntityType.ARCHIVE.ordinal()] = archiveIds;
+        return BatchWriter.write(this, idsByType);
+    }
+}
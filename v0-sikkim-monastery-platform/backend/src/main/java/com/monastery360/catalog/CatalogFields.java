@@ -0,0 +1,47 @@
+package com.monastery360.catalog;
+
+/**
+ * Field lists used for projected and language-filtered responses, in the
+ * same order as the full serialized entities.
+ */
+final class CatalogFields {
+
+    static final EntityFields<Monastery> MONASTERY = EntityFields.<Monastery>builder()
+            .integer("id", Monastery::getId)
+            .localized("name", Monastery::getName, Monastery::getNameNepali)
+            .localized("description", Monastery::getDescription, Monastery::getDescriptionNepali)
+            .number("latitude", Monastery::getLatitude)
+            .number("longitude", Monastery::getLongitude)
+            .text("address", Monastery::getAddress)
+            .text("founded", Monastery::getFounded)
+            .text("significance", Monastery::getSignificance)
+            .textList("features", Monastery::getFeatures)
+            .text("image", Monastery::getImage)
+            .build();
+
+    static final EntityFields<Festival> FESTIVAL = EntityFields.<Festival>builder()
+            .integer("id", Festival::getId)
+            .localized("name", Festival::getName, Festival::getNameNepali)
+            .text("date", Festival::getDate)
+            .localized("description", Festival::getDescription, Festival::getDescriptionNepali)
+            .text("location", Festival::getLocation)
+            .text("duration", Festival::getDuration)
+            .text("significance", Festival::getSignificance)
+            .text("image", Festival::getImage)
+            .text("recurrence", Festival::getRecurrence)
+            .build();
+
+    static final EntityFields<Archive> ARCHIVE = EntityFields.<Archive>builder()
+            .integer("id", Archive::getId)
+            .localized("title", Archive::getTitle, Archive::getTitleNepali)
+            .localized("description", Archive::getDescription, Archive::getDescriptionNepali)
+            .text("category", Archive::getCategory)
+            .text("period", Archive::getPeriod)
+            .text("location", Archive::getLocation)
+            .text("significance", Archive::getSignificance)
+            .text("image", Archive::getImage)
+            .build();
+
+    private CatalogFields() {
+    }
+}
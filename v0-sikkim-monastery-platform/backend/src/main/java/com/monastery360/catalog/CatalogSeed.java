@@ -0,0 +1,220 @@
+package com.monastery360.catalog;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+final class CatalogSeed {
+
+    private CatalogSeed() {
+    }
+
+    static List<Monastery> monasteries() {
+        return Collections.unmodifiableList(Arrays.asList(
+                new Monastery(1,
+                        "Rumtek Monastery",
+                        "रुम्तेक गुम्बा",
+                        "The largest monastery in Sikkim and seat of the Karmapa lineage, featuring stunning architecture and spiritual significance.",
+                        "सिक्किमको सबैभन्दा ठूलो गुम्बा र कर्मपा वंशको सिट, मनमोहक वास्तुकला र आध्यात्मिक महत्वको साथ।",
+                        27.3019,
+                        88.5606,
+                        "Rumtek, Sikkim 737135",
+                        "1960s",
+                        "Seat of the Karmapa lineage, center of Tibetan Buddhism",
+                        Collections.unmodifiableList(Arrays.asList("Golden stupa", "Prayer wheels", "Monk quarters", "Assembly hall")),
+                        "/rumtek-monastery-golden-roof-traditional-architect.jpg"),
+                new Monastery(2,
+                        "Pemayangtse Monastery",
+                        "पेमायाङ्त्से गुम्बा",
+                        "One of the oldest monasteries in Sikkim, known for its ancient murals and traditional architecture.",
+                        "सिक्किमको सबैभन्दा पुरानो गुम्बाहरू मध्ये एक, प्राचीन भित्ति चित्रहरू र पारम्परिक वास्तुकलाको लागि प्रसिद्ध।",
+                        27.3167,
+                        88.2500,
+                        "Pemayangtse, Sikkim 737111",
+                        "1705",
+                        "Ancient monastery with historical murals and artifacts",
+                        Collections.unmodifiableList(Arrays.asList("Ancient murals", "Traditional architecture", "Prayer hall", "Monk cells")),
+                        "/pemayangtse-monastery-white-walls-mountain-view.jpg")
+        ));
+    }
+
+    static List<Festival> festivals() {
+        return Collections.unmodifiableList(Arrays.asList(
+                new Festival(1,
+                        "Losar Festival",
+                        "लोसार पर्व",
+                        "2025-02-10",
+                        "Tibetan New Year celebration marking the beginning of the lunar year with traditional ceremonies, prayers, and cultural performances.",
+                        "तिब्बती नयाँ वर्षको उत्सव जुन चन्द्र वर्षको सुरुवातलाई चिन्हित गर्छ पारम्परिक समारोह, प्रार्थना र सांस्कृतिक प्रदर्शनहरूसहित।",
+                        "All Monasteries",
+                        "3 days",
+                        "New Year celebration, purification rituals, and community gathering",
+                        "/rumtek-monastery-golden-roof-traditional-architect.jpg",
+                        "RSCALE=TIBETAN;FREQ=YEARLY"),
+                new Festival(2,
+                        "Saga Dawa Festival",
+                        "सगा दावा पर्व",
+                        "2025-05-23",
+                        "Sacred festival commemorating Buddha's birth, enlightenment, and parinirvana with special prayers, circumambulation, and merit-making activities.",
+                        "बुद्धको जन्म, ज्ञानोदय र परिनिर्वाणको स्मरण गर्ने पवित्र पर्व, विशेष प्रार्थना, परिक्रमा र पुण्य कार्यहरूसहित।",
+                        "Pemayangtse Monastery",
+                        "1 day",
+                        "Triple celebration of Buddha's major life events",
+                        "/majestic-himalayan-monastery-with-prayer-flags-and.jpg",
+                        "RSCALE=TIBETAN;FREQ=YEARLY"),
+                new Festival(3,
+                        "Spring Meditation Retreat",
+                        "वसन्त ध्यान शिविर",
+                        "2025-03-15",
+                        "7-day silent meditation retreat focusing on mindfulness and inner peace, led by experienced monks.",
+                        "सचेतनता र आन्तरिक शान्तिमा केन्द्रित ७ दिनको मौन ध्यान शिविर, अनुभवी भिक्षुहरूद्वारा निर्देशित।",
+                        "Tashiding Monastery",
+                        "7 days",
+                        "Deep spiritual practice and self-discovery",
+                        "/tashiding-monastery-hilltop-prayer-flags-valley-vi.jpg",
+                        "FREQ=YEARLY"),
+                new Festival(4,
+                        "Weekly Puja Ceremony",
+                        "साप्ताहिक पूजा समारोह",
+                        "2025-01-07",
+                        "Traditional prayer ceremony held every Sunday with chanting, offerings, and community participation.",
+                        "हरेक आइतबार आयोजना हुने पारम्परिक प्रार्थना समारोह, मन्त्र पाठ, बलि र सामुदायिक सहभागितासहित।",
+                        "Enchey Monastery",
+                        "2 hours",
+                        "Regular spiritual practice and community bonding",
+                        "/pemayangtse-monastery-white-walls-mountain-view.jpg",
+                        "FREQ=WEEKLY;BYDAY=SU"),
+                new Festival(5,
+                        "Monthly Dharma Teaching",
+                        "मासिक धर्म शिक्षा",
+                        "2025-01-15",
+                        "Monthly teachings on Buddhist philosophy and practice by senior monks, open to all seekers.",
+                        "वरिष्ठ भिक्षुहरूद्वारा बौद्ध दर्शन र अभ्यासमा मासिक शिक्षा, सबै खोजीहरूका लागि खुला।",
+                        "Dubdi Monastery",
+                        "2 hours",
+                        "Education and spiritual guidance",
+                        "/majestic-himalayan-monastery-with-prayer-flags-and.jpg",
+                        "FREQ=MONTHLY"),
+                new Festival(6,
+                        "Bumchu Festival",
+                        "बुम्चु पर्व",
+                        "2025-02-24",
+                        "Sacred water festival with the opening of the holy water vase, predicting the year's fortune and weather.",
+                        "पवित्र जल पर्व जसमा पवित्र जल भाँडो खोलिन्छ, वर्षको भाग्य र मौसमको भविष्यवाणी गर्न।",
+                        "Tashiding Monastery",
+                        "1 day",
+                        "Divination and blessing ceremony",
+                        "/tashiding-monastery-hilltop-prayer-flags-valley-vi.jpg",
+                        "RSCALE=TIBETAN;FREQ=YEARLY"),
+                new Festival(7,
+                        "Guru Rinpoche Day",
+                        "गुरु रिन्पोचे दिवस",
+                        "2025-07-21",
+                        "Celebration of Guru Padmasambhava's birth with special prayers, dances, and offerings.",
+                        "गुरु पद्मसम्भवको जन्मको उत्सव, विशेष प्रार्थना, नृत्य र बलिसहित।",
+                        "All Monasteries",
+                        "1 day",
+                        "Honoring the founder of Tibetan Buddhism",
+                        "/rumtek-monastery-golden-roof-traditional-architect.jpg",
+                        "RSCALE=TIBETAN;FREQ=YEARLY"),
+                new Festival(8,
+                        "Lhabab Duchen",
+                        "ल्हाबाब दुचेन",
+                        "2025-11-15",
+                        "Celebration of Buddha's descent from heaven, marked by special prayers and merit-making activities.",
+                        "बुद्धको स्वर्गबाट अवतरणको उत्सव, विशेष प्रार्थना र पुण्य कार्यहरूद्वारा चिन्हित।",
+                        "All Monasteries",
+                        "1 day",
+                        "Commemorating Buddha's return to earth",
+                        "/majestic-himalayan-monastery-with-prayer-flags-and.jpg",
+                        "RSCALE=TIBETAN;FREQ=YEARLY"),
+                new Festival(9,
+                        "Winter Meditation Retreat",
+                        "जाडो ध्यान शिविर",
+                        "2025-12-01",
+                        "Intensive 10-day meditation retreat during the winter months for advanced practitioners.",
+                        "जाडो महिनाहरूमा उन्नत अभ्यासकर्ताहरूका लागि गहन १० दिनको ध्यान शिविर।",
+                        "Rumtek Monastery",
+                        "10 days",
+                        "Advanced spiritual practice",
+                        "/rumtek-monastery-golden-roof-traditional-architect.jpg",
+                        "FREQ=YEARLY"),
+                new Festival(10,
+                        "New Year Blessing Ceremony",
+                        "नयाँ वर्ष आशीर्वाद समारोह",
+                        "2025-01-01",
+                        "Special blessing ceremony for the new year with prayers for peace, prosperity, and good health.",
+                        "नयाँ वर्षका लागि विशेष आशीर्वाद समारोह, शान्ति, समृद्धि र राम्रो स्वास्थ्यका लागि प्रार्थनासहित।",
+                        "All Monasteries",
+                        "3 hours",
+                        "New year blessings and purification",
+                        "/pemayangtse-monastery-white-walls-mountain-view.jpg",
+                        "FREQ=YEARLY")
+        ));
+    }
+
+    static List<Archive> archives() {
+        return Collections.unmodifiableList(Arrays.asList(
+                new Archive(1,
+                        "Buddhist Thangka Paintings",
+                        "बौद्ध थाङ्का चित्रहरू",
+                        "Traditional Tibetan Buddhist scroll paintings depicting deities, mandalas, and religious scenes. These intricate artworks serve as meditation aids and religious teaching tools.",
+                        "पारम्परिक तिब्बती बौद्ध स्क्रोल चित्रहरू जुन देवताहरू, मण्डलहरू र धार्मिक दृश्यहरू चित्रण गर्छन्। यी जटिल कलाकृतिहरू ध्यान सहायक र धार्मिक शिक्षण उपकरणको रूपमा काम गर्छन्।",
+                        "Art",
+                        "17th-19th Century",
+                        "Rumtek Monastery",
+                        "Religious art and meditation aids",
+                        "/rumtek-monastery-golden-roof-traditional-architect.jpg"),
+                new Archive(2,
+                        "Ancient Buddhist Manuscripts",
+                        "प्राचीन बौद्ध पाण्डुलिपिहरू",
+                        "Handwritten Buddhist texts and scriptures preserved in monasteries, containing teachings, prayers, and philosophical discourses from ancient times.",
+                        "गुम्बाहरूमा संरक्षित हस्तलिखित बौद्ध ग्रन्थ र धर्मशास्त्रहरू, प्राचीन कालका शिक्षा, प्रार्थना र दार्शनिक प्रवचनहरू समावेश गर्छन्।",
+                        "Literature",
+                        "12th-18th Century",
+                        "Pemayangtse Monastery",
+                        "Preservation of Buddhist teachings and philosophy",
+                        "/pemayangtse-monastery-white-walls-mountain-view.jpg"),
+                new Archive(3,
+                        "Prayer Wheels and Ritual Objects",
+                        "प्रार्थना चक्र र अनुष्ठानिक वस्तुहरू",
+                        "Sacred ritual objects including prayer wheels, bells, dorjes, and other ceremonial items used in Buddhist practices and ceremonies.",
+                        "पवित्र अनुष्ठानिक वस्तुहरू जसमा प्रार्थना चक्र, घण्टी, दोर्जे र अन्य समारोहिक वस्तुहरू समावेश छन् जुन बौद्ध अभ्यास र समारोहहरूमा प्रयोग हुन्छन्।",
+                        "Artifacts",
+                        "15th-20th Century",
+                        "Tashiding Monastery",
+                        "Ritual and ceremonial importance in Buddhist practice",
+                        "/tashiding-monastery-hilltop-prayer-flags-valley-vi.jpg"),
+                new Archive(4,
+                        "Monastery Architecture Plans",
+                        "गुम्बा वास्तुकला योजनाहरू",
+                        "Historical architectural drawings and plans of monastery buildings, showing traditional Tibetan Buddhist architectural styles and construction techniques.",
+                        "गुम्बा भवनहरूका ऐतिहासिक वास्तुकला चित्र र योजनाहरू, पारम्परिक तिब्बती बौद्ध वास्तुकला शैली र निर्माण तकनीकहरू देखाउँछन्।",
+                        "Art",
+                        "16th-19th Century",
+                        "All Monasteries",
+                        "Historical architectural documentation",
+                        "/majestic-himalayan-monastery-with-prayer-flags-and.jpg"),
+                new Archive(5,
+                        "Buddhist Statues and Sculptures",
+                        "बौद्ध मूर्तिहरू र मूर्तिकलाहरू",
+                        "Sacred Buddhist statues and sculptures made from various materials including bronze, wood, and stone, representing different Buddhas and deities.",
+                        "विभिन्न सामग्रीहरू जस्तै कांस्य, काठ र ढुङ्गाबाट बनेका पवित्र बौद्ध मूर्तिहरू र मूर्तिकलाहरू, विभिन्न बुद्ध र देवताहरूको प्रतिनिधित्व गर्छन्।",
+                        "Art",
+                        "14th-20th Century",
+                        "Rumtek Monastery",
+                        "Religious and artistic heritage",
+                        "/rumtek-monastery-golden-roof-traditional-architect.jpg"),
+                new Archive(6,
+                        "Traditional Musical Instruments",
+                        "पारम्परिक संगीत वाद्यहरू",
+                        "Traditional Tibetan musical instruments used in religious ceremonies and cultural performances, including drums, horns, and cymbals.",
+                        "धार्मिक समारोह र सांस्कृतिक प्रदर्शनहरूमा प्रयोग हुने पारम्परिक तिब्बती संगीत वाद्यहरू, जसमा ढोल, सिङ र झ्यालहरू समावेश छन्।",
+                        "Artifacts",
+                        "18th-20th Century",
+                        "Pemayangtse Monastery",
+                        "Cultural and ceremonial music heritage",
+                        "/pemayangtse-monastery-white-walls-mountain-view.jpg")
+        ));
+    }
+}
@@ -0,0 +1,58 @@
+package com.monastery360.catalog;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * One page of a collection in id order, with a field projection and an
+ * optional language, streamed as a JSON array without intermediate maps.
+ */
+public final class CollectionPage<T> {
+
+    private final JsonFactory jsonFactory;
+    private final EntityFields<T> fields;
+    private final List<T> entities;
+    private final int[] positions;
+    private final int start;
+    private final int end;
+    private final long mask;
+    private final Language language;
+    private final Integer nextCursor;
+
+    CollectionPage(JsonFactory jsonFactory, EntityFields<T> fields, List<T> entities, int[] positions,
+                   int start, int end, long mask, Language language, Integer nextCursor) {
+        this.jsonFactory = jsonFactory;
+        this.fields = fields;
+        this.entities = entities;
+        this.positions = positions;
+        this.start = start;
+        this.end = end;
+        this.mask = mask;
+        this.language = language;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Value for {@code after} that fetches the following page, or null on
+     * the last page.
+     */
+    public Integer nextCursor() {
+        return nextCursor;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (int i = start; i < end; i++) {
+                fields.write(generator, entities.get(positions[i]), mask, language);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.monastery360.catalog;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * The serialized fields of one entity type, written straight to a
+ * {@link JsonGenerator}. A projection is a bit mask over the fields; a
+ * localized field is one bit covering both its English and Nepali keys.
+ */
+final class EntityFields<T> {
+
+    private final List<FieldWriter<T>> fields;
+
+    private EntityFields(List<FieldWriter<T>> fields) {
+        this.fields = fields;
+    }
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Mask for a comma-separated list of field names. The first field, the
+     * id, is always included so paged clients can continue from any record.
+     *
+     * @throws IllegalArgumentException for an unknown field name
+     */
+    long mask(String names) {
+        if (names == null) {
+            return (1L << fields.size()) - 1;
+        }
+        long mask = 1L;
+        for (String name : names.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            mask |= 1L << indexOf(trimmed);
+        }
+        return mask;
+    }
+
+    /**
+     * Writes the entity as an object with the masked fields. A null language
+     * keeps both languages under their usual keys; otherwise each localized
+     * field is written once under its base key.
+     */
+    void write(JsonGenerator generator, T entity, long mask, Language language) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < fields.size(); i++) {
+            if ((mask & (1L << i)) != 0) {
+                fields.get(i).write(generator, entity, language);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).name.equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field " + name);
+    }
+
+    private abstract static class FieldWriter<T> {
+
+        final String name;
+
+        FieldWriter(String name) {
+            this.name = name;
+        }
+
+        abstract void write(JsonGenerator generator, T entity, Language language) throws IOException;
+    }
+
+    static final class Builder<T> {
+
+        private final List<FieldWriter<T>> fields = new ArrayList<>();
+
+        Builder<T> integer(String name, ToIntFunction<T> value) {
+            return add(new FieldWriter<T>(name) {
+                @Override
+                void write(JsonGenerator generator, T entity, Language language) throws IOException {
+                    generator.writeNumberField(name, value.applyAsInt(entity));
+                }
+            });
+        }
+
+        Builder<T> number(String name, ToDoubleFunction<T> value) {
+            return add(new FieldWriter<T>(name) {
+                @Override
+                void write(JsonGenerator generator, T entity, Language language) throws IOException {
+                    generator.writeNumberField(name, value.applyAsDouble(entity));
+                }
+            });
+        }
+
+        Builder<T> text(String name, Function<T, String> value) {
+            return add(new FieldWriter<T>(name) {
+                @Override
+                void write(JsonGenerator generator, T entity, Language language) throws IOException {
+                    generator.writeStringField(name, value.apply(entity));
+                }
+            });
+        }
+
+        Builder<T> textList(String name, Function<T, List<String>> value) {
+            return add(new FieldWriter<T>(name) {
+                @Override
+                void write(JsonGenerator generator, T entity, Language language) throws IOException {
+                    generator.writeArrayFieldStart(name);
+                    for (String item : value.apply(entity)) {
+                        generator.writeString(item);
+                    }
+                    generator.writeEndArray();
+                }
+            });
+        }
+
+        /**
+         * A field with an English value under {@code name} and a Nepali value
+         * under {@code name + "Nepali"}.
+         */
+        Builder<T> localized(String name, Function<T, String> english, Function<T, String> nepali) {
+            String nepaliName = name + "Nepali";
+            return add(new FieldWriter<T>(name) {
+                @Override
+                void write(JsonGenerator generator, T entity, Language language) throws IOException {
+                    if (language == null) {
+                        generator.writeStringField(name, english.apply(entity));
+                        generator.writeStringField(nepaliName, nepali.apply(entity));
+                    } else {
+                        generator.writeStringField(name, (language.usesNepali() ? nepali : english).apply(entity));
+                    }
+                }
+            });
+        }
+
+        EntityFields<T> build() {
+            if (fields.size() > Long.SIZE - 1) {
+                throw new IllegalStateException("Too many fields for a projection mask");
+            }
+            return new EntityFields<>(new ArrayList<>(fields));
+        }
+
+        private Builder<T> add(FieldWriter<T> field) {
+            fields.add(field);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.monastery360.catalog;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * One entity collection with an id index and each entity serialized once on
+ * its own, so single-entity and batch responses copy cached bytes.
+ */
+public final class EntityTable<T> {
+
+    /** Largest page a paginated request may ask for. */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final List<T> entities;
+    private final IdIndex index;
+    private final JsonPayload json;
+    private final JsonPayload[] entityJson;
+    private final JsonFactory jsonFactory;
+    private final EntityFields<T> fields;
+    /** Ids in ascending order, and the list position of each. */
+    private final int[] sortedIds;
+    private final int[] sortedPositions;
+
+    EntityTable(ObjectMapper objectMapper, List<T> entities, ToIntFunction<T> id, EntityFields<T> fields) {
+        this.entities = entities;
+        this.jsonFactory = objectMapper.getFactory();
+        this.fields = fields;
+        int[] ids = new int[entities.size()];
+        this.entityJson = new JsonPayload[entities.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = id.applyAsInt(entities.get(i));
+            entityJson[i] = JsonPayload.of(objectMapper, entities.get(i));
+        }
+        this.index = new IdIndex(ids);
+        this.json = JsonPayload.of(objectMapper, entities);
+
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(position -> ids[position]));
+        this.sortedIds = new int[ids.length];
+        this.sortedPositions = new int[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedPositions[i] = order[i];
+            sortedIds[i] = ids[order[i]];
+        }
+    }
+
+    public List<T> all() {
+        return entities;
+    }
+
+    /**
+     * The whole collection as a JSON array.
+     */
+    public JsonPayload json() {
+        return json;
+    }
+
+    /**
+     * The entity with this id, or null.
+     */
+    public T get(int id) {
+        int position = index.indexOf(id);
+        return position < 0 ? null : entities.get(position);
+    }
+
+    /**
+     * The serialized entity with this id, or null.
+     */
+    public JsonPayload json(int id) {
+        int position = index.indexOf(id);
+        return position < 0 ? null : entityJson[position];
+    }
+
+    /**
+     * Entities with ids greater than {@code after}, in id order, at most
+     * {@code limit} of them (capped at {@link #MAX_PAGE_SIZE}). {@code fields}
+     * is a comma-separated projection and {@code lang} one of en, ne or hi;
+     * any argument may be null.
+     *
+     * @throws IllegalArgumentException for an unknown field or language, or
+     *                                  a limit below one
+     */
+    public CollectionPage<T> page(String fields, String lang, Integer limit, Integer after) {
+        long mask = this.fields.mask(fields);
+        Language language = lang == null ? null : Language.parse(lang);
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        int start = after == null ? 0 : firstRankAfter(after);
+        int end = sortedIds.length;
+        Integer nextCursor = null;
+        if (limit != null && end - start > Math.min(limit, MAX_PAGE_SIZE)) {
+            end = start + Math.min(limit, MAX_PAGE_SIZE);
+            nextCursor = sortedIds[end - 1];
+        }
+        return new CollectionPage<>(jsonFactory, this.fields, entities, sortedPositions, start, end, mask, language,
+                nextCursor);
+    }
+
+    private int firstRankAfter(int id) {
+        int rank = Arrays.binarySearch(sortedIds, id);
+        return rank >= 0 ? rank + 1 : -rank - 1;
+    }
+}
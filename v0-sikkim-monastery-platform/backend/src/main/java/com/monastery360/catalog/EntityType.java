@@ -0,0 +1,21 @@
+package com.monastery360.catalog;
+
+public enum EntityType {
+
+    MONASTERY("monasteries"),
+    FESTIVAL("festivals"),
+    ARCHIVE("archives");
+
+    private final String collection;
+
+    EntityType(String collection) {
+        this.collection = collection;
+    }
+
+    /**
+     * Name of the collection in API paths and response bodies.
+     */
+    public String collection() {
+        return collection;
+    }
+}
@@ -0,0 +1,80 @@
+package com.monastery360.catalog;
+
+public final class Festival {
+
+    private final int id;
+    private final String name;
+    private final String nameNepali;
+    private final String date;
+    private final String description;
+    private final String descriptionNepali;
+    private final String location;
+    private final String duration;
+    private final String significance;
+    private final String image;
+    private final String recurrence;
+
+    public Festival(int id, String name, String nameNepali, String date, String description,
+                    String descriptionNepali, String location, String duration, String significance, String image,
+                    String recurrence) {
+        this.id = id;
+        this.name = name;
+        this.nameNepali = nameNepali;
+        this.date = date;
+        this.description = description;
+        this.descriptionNepali = descriptionNepali;
+        this.location = location;
+        this.duration = duration;
+        this.significance = significance;
+        this.image = image;
+        this.recurrence = recurrence;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNameNepali() {
+        return nameNepali;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getDescriptionNepali() {
+        return descriptionNepali;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    public String getSignificance() {
+        return significance;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    /**
+     * iCalendar-style recurrence rule (RFC 5545 RRULE with RFC 7529 RSCALE),
+     * or null for a one-off event.
+     */
+    public String getRecurrence() {
+        return recurrence;
+    }
+}
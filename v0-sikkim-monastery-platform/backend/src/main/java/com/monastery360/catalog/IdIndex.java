@@ -0,0 +1,50 @@
+package com.monastery360.catalog;
+
+/**
+ * Maps entity ids to their position in a catalog list without boxing:
+ * open addressing with linear probing over parallel {@code int} arrays,
+ * at most half full.
+ */
+public final class IdIndex {
+
+    private final int[] keys;
+    /** Position plus one; zero marks an empty slot. */
+    private final int[] slots;
+    private final int shift;
+
+    public IdIndex(int[] ids) {
+        int capacity = Integer.highestOneBit(Math.max(2, ids.length) * 2 - 1) << 1;
+        this.keys = new int[capacity];
+        this.slots = new int[capacity];
+        this.shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        int mask = capacity - 1;
+        for (int position = 0; position < ids.length; position++) {
+            int slot = hash(ids[position]);
+            while (slots[slot] != 0) {
+                if (keys[slot] == ids[position]) {
+                    throw new IllegalArgumentException("Duplicate id " + ids[position]);
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = ids[position];
+            slots[slot] = position + 1;
+        }
+    }
+
+    /**
+     * Position of the id, or -1 if it is not indexed.
+     */
+    public int indexOf(int id) {
+        int mask = keys.length - 1;
+        for (int slot = hash(id); slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private int hash(int id) {
+        return (id * 0x9E3779B9) >>> shift;
+    }
+}
@@ -0,0 +1,165 @@
+package com.monastery360.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monastery360.http.ETags;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON document serialized once, kept as plain and gzip bytes, and served
+ * with a strong ETag. Responses are built from pre-computed read-only headers
+ * so a steady-state request only allocates the {@link ResponseEntity} itself.
+ */
+public final class JsonPayload {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final byte[] plain;
+    private final byte[] gzip;
+    private final String etag;
+    private final String gzipEtag;
+    private final HttpHeaders plainHeaders;
+    private final HttpHeaders gzipHeaders;
+    private final HttpHeaders plainNotModifiedHeaders;
+    private final HttpHeaders gzipNotModifiedHeaders;
+
+    private JsonPayload(byte[] plain) {
+        this.plain = plain;
+        this.gzip = gzip(plain);
+        String digest = digest(plain);
+        this.etag = "\"" + digest + "\"";
+        this.gzipEtag = "\"" + digest + "-gz\"";
+        this.plainHeaders = headers(etag, plain.length, false);
+        this.gzipHeaders = headers(gzipEtag, gzip.length, true);
+        this.plainNotModifiedHeaders = headers(etag, -1, false);
+        this.gzipNotModifiedHeaders = headers(gzipEtag, -1, true);
+    }
+
+    public static JsonPayload of(ObjectMapper objectMapper, Object value) {
+        try {
+            return new JsonPayload(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog payload", e);
+        }
+    }
+
+    public byte[] bytes() {
+        return plain;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public ResponseEntity<byte[]> respond(String ifNoneMatch, String acceptEncoding) {
+        boolean useGzip = acceptsGzip(acceptEncoding);
+        if (ifNoneMatch != null) {
+            boolean plainMatches = ETags.matchesWeak(ifNoneMatch, etag);
+            boolean gzipMatches = ETags.matchesWeak(ifNoneMatch, gzipEtag);
+            if (plainMatches || gzipMatches) {
+                // Echo the validator the client holds; the negotiated one only when it holds both
+                boolean gzipValidator = gzipMatches && (useGzip || !plainMatches);
+                return new ResponseEntity<>(gzipValidator ? gzipNotModifiedHeaders : plainNotModifiedHeaders,
+                        HttpStatus.NOT_MODIFIED);
+            }
+        }
+        return useGzip
+                ? new ResponseEntity<>(gzip, gzipHeaders, HttpStatus.OK)
+                : new ResponseEntity<>(plain, plainHeaders, HttpStatus.OK);
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header admits gzip, i.e. names gzip
+     * or {@code *} without {@code q=0}.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        int length = acceptEncoding.length();
+        int i = 0;
+        while (i < length) {
+            int end = acceptEncoding.indexOf(',', i);
+            if (end < 0) {
+                end = length;
+            }
+            while (i < end && acceptEncoding.charAt(i) == ' ') {
+                i++;
+            }
+            if (acceptEncoding.regionMatches(true, i, "gzip", 0, 4)
+                    || acceptEncoding.regionMatches(true, i, "*", 0, 1)) {
+                int q = acceptEncoding.indexOf("q=", i);
+                return q < 0 || q >= end || !isZeroQuality(acceptEncoding, q + 2, end);
+            }
+            i = end + 1;
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String header, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = header.charAt(i);
+            if (c >= '1' && c <= '9') {
+                return false;
+            }
+            if (c != '0' && c != '.') {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private static HttpHeaders headers(String etag, int contentLength, boolean gzip) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setCacheControl("no-cache");
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (contentLength >= 0) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(contentLength);
+            if (gzip) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+        }
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            char[] hex = new char[32];
+            for (int i = 0; i < 16; i++) {
+                hex[i * 2] = HEX[(hash[i] >> 4) & 0xf];
+                hex[i * 2 + 1] = HEX[hash[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
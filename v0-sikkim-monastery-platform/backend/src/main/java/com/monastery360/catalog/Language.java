@@ -0,0 +1,24 @@
+package com.monastery360.catalog;
+
+import java.util.Locale;
+
+/**
+ * Languages a client may ask for with {@code lang=}. The catalog only holds
+ * English and Nepali text, so Hindi is served from the English fields.
+ */
+enum Language {
+    EN,
+    NE,
+    HI;
+
+    boolean usesNepali() {
+        return this == NE;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unsupported language code
+     */
+    static Language parse(String code) {
+        return valueOf(code.trim().toUpperCase(Locale.ROOT));
+    }
+}
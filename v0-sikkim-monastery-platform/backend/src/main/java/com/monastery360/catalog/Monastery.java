@@ -0,0 +1,84 @@
+package com.monastery360.catalog;
+
+import java.util.List;
+
+public final class Monastery {
+
+    private final int id;
+    private final String name;
+    private final String nameNepali;
+    private final String description;
+    private final String descriptionNepali;
+    private final double latitude;
+    private final double longitude;
+    private final String address;
+    private final String founded;
+    private final String significance;
+    private final List<String> features;
+    private final String image;
+
+    public Monastery(int id, String name, String nameNepali, String description, String descriptionNepali,
+                     double latitude, double longitude, String address, String founded, String significance,
+                     List<String> features, String image) {
+        this.id = id;
+        this.name = name;
+        this.nameNepali = nameNepali;
+        this.description = description;
+        this.descriptionNepali = descriptionNepali;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.address = address;
+        this.founded = founded;
+        this.significance = significance;
+        this.features = features;
+        this.image = image;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNameNepali() {
+        return nameNepali;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getDescriptionNepali() {
+        return descriptionNepali;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getFounded() {
+        return founded;
+    }
+
+    public String getSignificance() {
+        return significance;
+    }
+
+    public List<String> getFeatures() {
+        return features;
+    }
+
+    public String getImage() {
+        return image;
+    }
+}
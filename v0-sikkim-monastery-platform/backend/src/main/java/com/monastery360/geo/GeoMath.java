@@ -0,0 +1,36 @@
+package com.monastery360.geo;
+
+final class GeoMath {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoMath() {
+    }
+
+    static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLng = Math.sin(dLng / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLng * sinLng;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Half-width in degrees of longitude of a circle of {@code radiusKm}
+     * around {@code lat}, or 180 when the circle reaches a pole.
+     */
+    static double longitudeSpan(double lat, double radiusKm) {
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        double latRad = Math.toRadians(lat);
+        if (Math.abs(latRad) + angular >= Math.PI / 2) {
+            return 180;
+        }
+        return Math.toDegrees(Math.asin(Math.sin(angular) / Math.cos(latRad)));
+    }
+
+    static double latitudeSpan(double radiusKm) {
+        return Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+    }
+}
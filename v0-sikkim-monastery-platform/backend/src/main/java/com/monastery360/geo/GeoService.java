@@ -0,0 +1,185 @@
+package com.monastery360.geo;
+
+import com.monastery360.catalog.Catalog;
+import com.monastery360.catalog.Monastery;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Spatial queries over monastery coordinates, backed by a k-d tree built
+ * once at startup. Circle queries are answered by a range query over the
+ * circle's bounding box followed by an exact haversine check.
+ */
+@Component
+public class GeoService {
+
+    public static final int MAX_LIMIT = 500;
+
+    private final List<Monastery> monasteries;
+    private final KdTree tree;
+
+    public GeoService(Catalog catalog) {
+        this.monasteries = catalog.monasteries();
+        double[] latitudes = new double[monasteries.size()];
+        double[] longitudes = new double[monasteries.size()];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = monasteries.get(i).getLatitude();
+            longitudes[i] = monasteries.get(i).getLongitude();
+        }
+        this.tree = new KdTree(latitudes, longitudes);
+    }
+
+    /**
+     * Monasteries within {@code radiusKm} of the point, nearest first.
+     */
+    public List<NearbyMonastery> near(double lat, double lng, double radiusKm, int limit) {
+        double latSpan = GeoMath.latitudeSpan(radiusKm);
+        double minLat = Math.max(-90, lat - latSpan);
+        double maxLat = Math.min(90, lat + latSpan);
+        double lngSpan = GeoMath.longitudeSpan(lat, radiusKm);
+        Candidates candidates = new Candidates(lat, lng, radiusKm, limit);
+        if (lngSpan >= 180) {
+            tree.range(minLat, -180, maxLat, 180, candidates);
+        } else {
+            rangeWrapped(minLat, lng - lngSpan, maxLat, lng + lngSpan, candidates);
+        }
+        return candidates.nearest();
+    }
+
+    /**
+     * Monasteries inside the box, nearest to its centre first. A box whose
+     * {@code minLng} is greater than {@code maxLng} crosses the antimeridian.
+     */
+    public List<NearbyMonastery> withinBounds(double minLat, double minLng, double maxLat, double maxLng, int limit) {
+        double width = maxLng >= minLng ? maxLng - minLng : maxLng + 360 - minLng;
+        double centerLng = minLng + width / 2;
+        if (centerLng > 180) {
+            centerLng -= 360;
+        }
+        Candidates candidates = new Candidates((minLat + maxLat) / 2, centerLng, Double.POSITIVE_INFINITY, limit);
+        if (maxLng >= minLng) {
+            tree.range(minLat, minLng, maxLat, maxLng, candidates);
+        } else {
+            tree.range(minLat, minLng, maxLat, 180, candidates);
+            tree.range(minLat, -180, maxLat, maxLng, candidates);
+        }
+        return candidates.nearest();
+    }
+
+    private void rangeWrapped(double minLat, double minLng, double maxLat, double maxLng, Candidates candidates) {
+        if (minLng < -180) {
+            tree.range(minLat, minLng + 360, maxLat, 180, candidates);
+            tree.range(minLat, -180, maxLat, maxLng, candidates);
+        } else if (maxLng > 180) {
+            tree.range(minLat, minLng, maxLat, 180, candidates);
+            tree.range(minLat, -180, maxLat, maxLng - 360, candidates);
+        } else {
+            tree.range(minLat, minLng, maxLat, maxLng, candidates);
+        }
+    }
+
+    /**
+     * The {@code limit} nearest points reported so far, kept in a bounded
+     * max-heap on (distance, point) so the farthest is replaced first and
+     * only {@code limit} candidates are ever ordered.
+     */
+    private final class Candidates implements KdTree.PointConsumer {
+
+        private final double lat;
+        private final double lng;
+        private final double radiusKm;
+        private final int[] points;
+        private final double[] distances;
+        private int count;
+
+        Candidates(double lat, double lng, double radiusKm, int limit) {
+            this.lat = lat;
+            this.lng = lng;
+            this.radiusKm = radiusKm;
+            int capacity = Math.max(1, Math.min(limit, MAX_LIMIT));
+            this.points = new int[capacity];
+            this.distances = new double[capacity];
+        }
+
+        @Override
+        public void accept(int point) {
+            double distance = GeoMath.haversineKm(lat, lng, tree.latitude(point), tree.longitude(point));
+            if (distance > radiusKm) {
+                return;
+            }
+            if (count < points.length) {
+                points[count] = point;
+                distances[count] = distance;
+                siftUp(count++);
+            } else if (farther(distances[0], points[0], distance, point)) {
+                points[0] = point;
+                distances[0] = distance;
+                siftDown(0, count);
+            }
+        }
+
+        List<NearbyMonastery> nearest() {
+            if (count == 0) {
+                return Collections.emptyList();
+            }
+            // Heapsort in place: each pass moves the farthest remaining candidate to the end
+            for (int end = count - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            List<NearbyMonastery> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                double roundedKm = Math.round(distances[i] * 1000) / 1000.0;
+                results.add(new NearbyMonastery(monasteries.get(points[i]), roundedKm));
+            }
+            return results;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!farther(distances[i], points[i], distances[parent], points[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int size) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size
+                        && farther(distances[child + 1], points[child + 1], distances[child], points[child])) {
+                    child++;
+                }
+                if (!farther(distances[child], points[child], distances[i], points[i])) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int point = points[i];
+            points[i] = points[j];
+            points[j] = point;
+            double distance = distances[i];
+            distances[i] = distances[j];
+            distances[j] = distance;
+        }
+    }
+
+    // Orders by distance, then by catalog position so equidistant results are stable
+    private static boolean farther(double distance, int point, double otherDistance, int otherPoint) {
+        int order = Double.compare(distance, otherDistance);
+        return order > 0 || (order == 0 && point > otherPoint);
+    }
+}
@@ -0,0 +1,126 @@
+package com.monastery360.geo;
+
+/**
+ * Static 2-d tree over latitude/longitude, stored implicitly: the points are
+ * reordered so that every subrange {@code [lo, hi)} has its splitting point
+ * at the midpoint, alternating latitude and longitude by depth. No node
+ * objects are allocated.
+ */
+final class KdTree {
+
+    private final int[] points;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    /**
+     * @param latitudes  latitude of point {@code i}
+     * @param longitudes longitude of point {@code i}
+     */
+    KdTree(double[] latitudes, double[] longitudes) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.points = new int[latitudes.length];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = i;
+        }
+        build(0, points.length, 0);
+    }
+
+    int size() {
+        return points.length;
+    }
+
+    double latitude(int point) {
+        return latitudes[point];
+    }
+
+    double longitude(int point) {
+        return longitudes[point];
+    }
+
+    /**
+     * Reports every point inside the box, bounds inclusive. The box must not
+     * cross the antimeridian; callers split such boxes in two.
+     */
+    void range(double minLat, double minLng, double maxLat, double maxLng, PointConsumer consumer) {
+        range(0, points.length, 0, minLat, minLng, maxLat, maxLng, consumer);
+    }
+
+    private void range(int lo, int hi, int depth, double minLat, double minLng, double maxLat, double maxLng,
+                       PointConsumer consumer) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int point = points[mid];
+            double lat = latitudes[point];
+            double lng = longitudes[point];
+            if (lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng) {
+                consumer.accept(point);
+            }
+            double split = depth % 2 == 0 ? lat : lng;
+            double min = depth % 2 == 0 ? minLat : minLng;
+            double max = depth % 2 == 0 ? maxLat : maxLng;
+            boolean left = min <= split;
+            boolean right = max >= split;
+            if (left && right) {
+                range(lo, mid, depth + 1, minLat, minLng, maxLat, maxLng, consumer);
+                lo = mid + 1;
+            } else if (left) {
+                hi = mid;
+            } else if (right) {
+                lo = mid + 1;
+            } else {
+                return;
+            }
+            depth++;
+        }
+    }
+
+    private void build(int lo, int hi, int depth) {
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, depth % 2 == 0 ? latitudes : longitudes);
+            build(lo, mid, depth + 1);
+            lo = mid + 1;
+            depth++;
+        }
+    }
+
+    /**
+     * Quickselect: places the k-th smallest point of {@code [left, right]} at
+     * {@code k}, smaller-or-equal keys before it and larger-or-equal after.
+     */
+    private void select(int left, int right, int k, double[] keys) {
+        while (left < right) {
+            double pivot = keys[points[(left + right) >>> 1]];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (keys[points[i]] < pivot) {
+                    i++;
+                }
+                while (keys[points[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = points[i];
+                    points[i] = points[j];
+                    points[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    interface PointConsumer {
+
+        void accept(int point);
+    }
+}
@@ -0,0 +1,28 @@
+package com.monastery360.geo;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.monastery360.catalog.Monastery;
+
+/**
+ * A monastery with its distance from the query point; serialized as the
+ * monastery's own fields plus {@code distanceKm}.
+ */
+public final class NearbyMonastery {
+
+    private final Monastery monastery;
+    private final double distanceKm;
+
+    public NearbyMonastery(Monastery monastery, double distanceKm) {
+        this.monastery = monastery;
+        this.distanceKm = distanceKm;
+    }
+
+    @JsonUnwrapped
+    public Monastery getMonastery() {
+        return monastery;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+}
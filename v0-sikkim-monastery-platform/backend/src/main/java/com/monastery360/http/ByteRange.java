@@ -0,0 +1,75 @@
+package com.monastery360.http;
+
+/**
+ * A single satisfiable byte range of a representation, inclusive at both
+ * ends as in {@code Content-Range}. Multi-range requests are answered with
+ * the whole representation, which RFC 7233 permits.
+ */
+public final class ByteRange {
+
+    /** Marker for a syntactically valid range that lies outside the representation. */
+    public static final ByteRange NOT_SATISFIABLE = new ByteRange(-1, -1);
+
+    private final long first;
+    private final long last;
+
+    private ByteRange(long first, long last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    public long first() {
+        return first;
+    }
+
+    public long last() {
+        return last;
+    }
+
+    public long length() {
+        return last - first + 1;
+    }
+
+    public String contentRange(long size) {
+        return "bytes " + first + "-" + last + "/" + size;
+    }
+
+    /**
+     * Parses a {@code Range} header against a representation of
+     * {@code size} bytes. Returns null when the whole representation should
+     * be sent: no header, another unit, several ranges or invalid syntax.
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return suffix == 0 ? NOT_SATISFIABLE : null;
+                }
+                if (size == 0) {
+                    return NOT_SATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+            long first = Long.parseLong(spec.substring(0, dash));
+            long last = dash == spec.length() - 1 ? Long.MAX_VALUE : Long.parseLong(spec.substring(dash + 1));
+            if (first < 0 || last < first) {
+                return null;
+            }
+            if (first >= size) {
+                return NOT_SATISFIABLE;
+            }
+            return new ByteRange(first, Math.min(last, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
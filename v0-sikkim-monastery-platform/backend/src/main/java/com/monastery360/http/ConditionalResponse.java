@@ -0,0 +1,70 @@
+package com.monastery360.http;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Serves a static representation with validators, conditional requests
+ * (304/412) and single byte ranges (206/416). The body itself is written by
+ * a {@link BodyWriter}, so files, mapped buffers and cached bytes share the
+ * same header handling.
+ */
+public final class ConditionalResponse {
+
+    private ConditionalResponse() {
+    }
+
+    /**
+     * @param lastModified epoch millis, or -1 to send no Last-Modified
+     */
+    public static void serve(HttpServletRequest request, HttpServletResponse response, long size, String etag,
+                             long lastModified, String contentType, String cacheControl, BodyWriter body)
+            throws IOException {
+        response.setHeader("ETag", etag);
+        if (lastModified >= 0) {
+            response.setDateHeader("Last-Modified", lastModified);
+        }
+        response.setHeader("Cache-Control", cacheControl);
+        response.setHeader("Accept-Ranges", "bytes");
+
+        Precondition precondition = Precondition.evaluate(request, etag, lastModified);
+        if (precondition == Precondition.FAILED) {
+            response.setStatus(HttpServletResponse.SC_PRECONDITION_FAILED);
+            return;
+        }
+        if (precondition == Precondition.NOT_MODIFIED) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        ByteRange range = Precondition.rangeApplies(request, etag, lastModified)
+                ? ByteRange.parse(request.getHeader("Range"), size)
+                : null;
+        if (range == ByteRange.NOT_SATISFIABLE) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader("Content-Range", "bytes */" + size);
+            return;
+        }
+        long position = 0;
+        long count = size;
+        if (range != null) {
+            position = range.first();
+            count = range.length();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", range.contentRange(size));
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        response.setContentType(contentType);
+        response.setContentLengthLong(count);
+        if (!"HEAD".equals(request.getMethod()) && count > 0) {
+            body.write(position, count);
+        }
+    }
+
+    public interface BodyWriter {
+
+        void write(long position, long count) throws IOException;
+    }
+}
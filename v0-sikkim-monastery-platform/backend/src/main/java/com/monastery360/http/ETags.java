@@ -0,0 +1,58 @@
+package com.monastery360.http;
+
+/**
+ * Entity-tag comparison for conditional request headers (RFC 7232).
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Weak comparison as required for If-None-Match: a {@code W/} prefix on
+     * the client's tag is ignored, and {@code *} matches any representation.
+     */
+    public static boolean matchesWeak(String header, String etag) {
+        return matches(header, etag, false);
+    }
+
+    /**
+     * Strong comparison as required for If-Match and If-Range: weak tags
+     * never match, and {@code *} matches any representation.
+     */
+    public static boolean matchesStrong(String header, String etag) {
+        return matches(header, etag, true);
+    }
+
+    private static boolean matches(String header, String etag, boolean strong) {
+        int length = header.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && (header.charAt(i) == ' ' || header.charAt(i) == ',')) {
+                i++;
+            }
+            if (i >= length) {
+                break;
+            }
+            if (header.charAt(i) == '*') {
+                return true;
+            }
+            boolean weak = header.startsWith("W/", i);
+            if (weak) {
+                i += 2;
+            }
+            if ((!weak || !strong) && header.regionMatches(i, etag, 0, etag.length())) {
+                int end = i + etag.length();
+                if (end == length || header.charAt(end) == ',' || header.charAt(end) == ' ') {
+                    return true;
+                }
+            }
+            int comma = header.indexOf(',', i);
+            if (comma < 0) {
+                break;
+            }
+            i = comma + 1;
+        }
+        return false;
+    }
+}
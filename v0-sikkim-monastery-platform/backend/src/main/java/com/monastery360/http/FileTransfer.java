@@ -0,0 +1,77 @@
+package com.monastery360.http;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sends a region of a file as the response body. On Tomcat connectors that
+ * support sendfile the region is handed to the connector, which lets the
+ * kernel copy from the page cache to the socket; elsewhere the file is
+ * streamed with {@link FileChannel#transferTo}.
+ */
+public final class FileTransfer {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileTransfer() {
+    }
+
+    /**
+     * Writes {@code count} bytes of the file from {@code position}. The
+     * caller sets status and headers, including Content-Length, first.
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, Path file,
+                            long position, long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, position);
+            request.setAttribute(SENDFILE_END, position + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            send(response, channel, position, count);
+        }
+    }
+
+    /**
+     * Writes {@code count} bytes of an already open file from
+     * {@code position} with {@link FileChannel#transferTo}. Used for files
+     * that may be deleted while being served, which sendfile would reopen
+     * by name. The caller closes the channel.
+     */
+    public static void send(HttpServletResponse response, FileChannel channel, long position, long count)
+            throws IOException {
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        long sent = 0;
+        while (sent < count) {
+            long n = channel.transferTo(position + sent, count - sent, out);
+            if (n <= 0) {
+                break;
+            }
+            sent += n;
+        }
+    }
+
+    /**
+     * Bytes of this request's response handed to the connector's sendfile,
+     * which never pass through the response output stream; zero if none.
+     */
+    public static long sendfileBytes(ServletRequest request) {
+        Object start = request.getAttribute(SENDFILE_START);
+        Object end = request.getAttribute(SENDFILE_END);
+        if (start instanceof Long && end instanceof Long) {
+            return (Long) end - (Long) start;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,72 @@
+package com.monastery360.http;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Outcome of evaluating the conditional headers of a GET or HEAD request
+ * against the current representation, in the order RFC 7232 section 6
+ * prescribes.
+ */
+public enum Precondition {
+
+    PROCEED,
+    NOT_MODIFIED,
+    FAILED;
+
+    /**
+     * @param lastModified epoch millis of the representation, or -1 if unknown
+     */
+    public static Precondition evaluate(HttpServletRequest request, String etag, long lastModified) {
+        String ifMatch = request.getHeader("If-Match");
+        if (ifMatch != null) {
+            if (!ETags.matchesStrong(ifMatch, etag)) {
+                return FAILED;
+            }
+        } else if (lastModified >= 0) {
+            long ifUnmodifiedSince = dateHeader(request, "If-Unmodified-Since");
+            if (ifUnmodifiedSince >= 0 && seconds(lastModified) > seconds(ifUnmodifiedSince)) {
+                return FAILED;
+            }
+        }
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return ETags.matchesWeak(ifNoneMatch, etag) ? NOT_MODIFIED : PROCEED;
+        }
+        if (lastModified >= 0) {
+            long ifModifiedSince = dateHeader(request, "If-Modified-Since");
+            if (ifModifiedSince >= 0 && seconds(lastModified) <= seconds(ifModifiedSince)) {
+                return NOT_MODIFIED;
+            }
+        }
+        return PROCEED;
+    }
+
+    /**
+     * Whether a Range header may be honoured: true unless If-Range names a
+     * different representation, by strong tag or by exact modification date.
+     */
+    public static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ETags.matchesStrong(ifRange, etag);
+        }
+        long date = dateHeader(request, "If-Range");
+        return date >= 0 && lastModified >= 0 && seconds(lastModified) == seconds(date);
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            // An unparseable date is ignored, as if the header were absent
+            return -1;
+        }
+    }
+
+    private static long seconds(long millis) {
+        return millis / 1000;
+    }
+}
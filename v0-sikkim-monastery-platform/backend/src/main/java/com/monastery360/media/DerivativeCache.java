@@ -0,0 +1,227 @@
+package com.monastery360.media;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Generated files kept on disk under a byte budget, evicting the least
+ * recently used. Concurrent requests for a missing entry share one
+ * generation: the first caller schedules it and everyone else waits on the
+ * same future. Generation runs on a bounded executor so a cold cache cannot
+ * start more resizes than there are workers. Hits are handed out as open
+ * channels, so a full cache can evict a file that is still being sent.
+ */
+final class DerivativeCache {
+
+    private static final String PARTIAL_SUFFIX = ".partial";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    /** Entry sizes in access order; guarded by {@code this}. */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    DerivativeCache(Path directory, long maxBytes, ExecutorService executor) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        this.executor = executor;
+        load();
+    }
+
+    /**
+     * The cached entry opened for reading, generating it first if needed.
+     * Entries are opened under the cache lock, so eviction may unlink a file
+     * that is being served but never before it has been opened; the open
+     * channel keeps reading the unlinked file. Returns null if the generator
+     * declined to produce the entry.
+     */
+    Entry open(String key, Generator generator) throws IOException {
+        Entry entry = openCached(key);
+        // Evicted between generation and open; one regeneration is enough
+        for (int attempt = 0; entry == null; attempt++) {
+            if (attempt == 2) {
+                throw new NoSuchFileException(directory.resolve(key).toString());
+            }
+            if (generated(key, generator) == null) {
+                return null;
+            }
+            entry = openCached(key);
+        }
+        return entry;
+    }
+
+    private synchronized Entry openCached(String key) throws IOException {
+        Long size = entries.get(key);
+        if (size == null) {
+            return null;
+        }
+        Path file = directory.resolve(key);
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // Deleted behind the cache's back
+            entries.remove(key);
+            totalBytes -= size;
+            return null;
+        }
+        try {
+            return new Entry(file, channel, channel.size(), Files.getLastModifiedTime(file).toMillis());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private Path generated(String key, Generator generator) throws IOException {
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(key, created);
+        if (existing == null) {
+            try {
+                executor.execute(() -> generate(key, generator, created));
+            } catch (RejectedExecutionException e) {
+                // Shutting down: fail this caller and leave no future behind for later ones to wait on
+                inFlight.remove(key, created);
+                created.completeExceptionally(e);
+            }
+        }
+        try {
+            return (existing == null ? created : existing).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void generate(String key, Generator generator, CompletableFuture<Path> future) {
+        Path target = directory.resolve(key);
+        Path partial = directory.resolve(key + PARTIAL_SUFFIX);
+        try {
+            if (!generator.generate(partial)) {
+                Files.deleteIfExists(partial);
+                future.complete(null);
+                return;
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            admit(key, Files.size(target));
+            future.complete(target);
+        } catch (IOException e) {
+            deleteQuietly(partial);
+            future.completeExceptionally(new UncheckedIOException(e));
+        } catch (RuntimeException | Error e) {
+            deleteQuietly(partial);
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private synchronized void admit(String key, long size) {
+        Long previous = entries.put(key, size);
+        totalBytes += size - (previous == null ? 0 : previous);
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        // The newest entry stays even if it alone exceeds the budget
+        while (totalBytes > maxBytes && entries.size() > 1) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            deleteQuietly(directory.resolve(entry.getKey()));
+        }
+    }
+
+    /**
+     * Picks up entries left by a previous run, oldest first, and drops
+     * partial files from generations that never finished.
+     */
+    private void load() throws IOException {
+        List<Path> files = new ArrayList<>();
+        Map<Path, BasicFileAttributes> attributes = new LinkedHashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().endsWith(PARTIAL_SUFFIX)) {
+                    deleteQuietly(file);
+                    continue;
+                }
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attrs.isRegularFile()) {
+                    files.add(file);
+                    attributes.put(file, attrs);
+                }
+            }
+        }
+        files.sort(Comparator.comparing(file -> attributes.get(file).lastModifiedTime()));
+        for (Path file : files) {
+            admit(file.getFileName().toString(), attributes.get(file).size());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Left for the next startup to clean up
+        }
+    }
+
+    /**
+     * An open cache entry with the size and modification time it had when
+     * opened. The caller closes it.
+     */
+    static final class Entry implements Closeable {
+
+        final Path path;
+        final FileChannel channel;
+        final long size;
+        final long lastModified;
+
+        Entry(Path path, FileChannel channel, long size, long lastModified) {
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    interface Generator {
+
+        /**
+         * Writes the entry to {@code target}.
+         *
+         * @return false if this entry cannot be generated
+         */
+        boolean generate(Path target) throws IOException;
+    }
+}
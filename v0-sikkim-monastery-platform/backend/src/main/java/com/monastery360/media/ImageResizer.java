@@ -0,0 +1,89 @@
+package com.monastery360.media;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Decodes, downsizes and re-encodes images with the JDK's ImageIO codecs.
+ * Large reductions are done in halving steps with bilinear filtering, which
+ * keeps detail close to an area-averaging resize at a fraction of its cost.
+ */
+final class ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    static {
+        // Decode from memory rather than spilling to temporary files
+        ImageIO.setUseCache(false);
+    }
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Writes {@code source} scaled to at most {@code width} pixels wide.
+     * Images are never enlarged.
+     *
+     * @return false if ImageIO has no decoder for the source format
+     */
+    static boolean resize(Path source, Path target, int width, MediaFormat format) throws IOException {
+        BufferedImage image = ImageIO.read(source.toFile());
+        if (image == null) {
+            return false;
+        }
+        BufferedImage scaled = scale(image, Math.min(width, image.getWidth()), format.hasAlpha());
+        write(scaled, target, format);
+        return true;
+    }
+
+    private static BufferedImage scale(BufferedImage image, int targetWidth, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int targetHeight = Math.max(1, (int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()));
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(targetWidth, w / 2);
+            h = Math.max(targetHeight, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != targetWidth || h != targetHeight);
+        return current;
+    }
+
+    private static void write(BufferedImage image, Path target, MediaFormat format) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format.imageIoName());
+        if (!writers.hasNext()) {
+            throw new IOException("No ImageIO writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (format == MediaFormat.JPEG) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
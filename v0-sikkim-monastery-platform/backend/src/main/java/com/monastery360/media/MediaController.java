@@ -0,0 +1,61 @@
+package com.monastery360.media;
+
+import com.monastery360.http.ConditionalResponse;
+import com.monastery360.http.FileTransfer;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:3000", "https://monastery360.vercel.app"})
+public class MediaController {
+
+    private static final String CACHE_CONTROL = "public, max-age=86400";
+
+    private final MediaService mediaService;
+
+    public MediaController(MediaService mediaService) {
+        this.mediaService = mediaService;
+    }
+
+    /**
+     * An image from the frontend's public directory, optionally resized to
+     * {@code w} pixels wide and re-encoded as {@code fmt} (jpg or png).
+     */
+    @GetMapping("/api/media/{name:.+}")
+    public void getMedia(@PathVariable String name,
+                         @RequestParam(required = false) Integer w,
+                         @RequestParam(required = false) String fmt,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        MediaFile file;
+        try {
+            file = mediaService.resolve(name, w, fmt);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        try {
+            ConditionalResponse.serve(request, response, file.size(), file.etag(), file.lastModified(),
+                    file.contentType(), CACHE_CONTROL, (position, count) -> {
+                        if (file.channel() != null) {
+                            FileTransfer.send(response, file.channel(), position, count);
+                        } else {
+                            FileTransfer.send(request, response, file.path(), position, count);
+                        }
+                    });
+        } finally {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.monastery360.media;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * A file ready to be served, with the validators for conditional requests.
+ * Derivatives come already open, as the cache may delete them at any time
+ * once they are no longer the newest; the caller closes the file after
+ * serving it.
+ */
+public final class MediaFile implements Closeable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private final long lastModified;
+    private final String contentType;
+
+    MediaFile(Path path, FileChannel channel, long size, long lastModified, String contentType) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentType = contentType;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * The open file to read from, or null when the file stays in place and
+     * can be served from {@link #path()}.
+     */
+    public FileChannel channel() {
+        return channel;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Strong validator from modification time and size, as static file
+     * servers commonly derive it.
+     */
+    public String etag() {
+        return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"";
+    }
+}
@@ -0,0 +1,56 @@
+package com.monastery360.media;
+
+import java.util.Locale;
+
+/**
+ * Formats a derivative can be encoded in; the ones ImageIO can write
+ * without extra plugins.
+ */
+enum MediaFormat {
+
+    JPEG("jpg", "jpeg", "image/jpeg", false),
+    PNG("png", "png", "image/png", true);
+
+    private final String extension;
+    private final String imageIoName;
+    private final String contentType;
+    private final boolean alpha;
+
+    MediaFormat(String extension, String imageIoName, String contentType, boolean alpha) {
+        this.extension = extension;
+        this.imageIoName = imageIoName;
+        this.contentType = contentType;
+        this.alpha = alpha;
+    }
+
+    String extension() {
+        return extension;
+    }
+
+    String imageIoName() {
+        return imageIoName;
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    boolean hasAlpha() {
+        return alpha;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unsupported format name
+     */
+    static MediaFormat parse(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "jpg":
+            case "jpeg":
+                return JPEG;
+            case "png":
+                return PNG;
+            default:
+                throw new IllegalArgumentException("Unsupported format " + name);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.monastery360.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves media names to originals under the frontend's {@code public/}
+ * directory, or to resized derivatives generated on first request and kept
+ * in a {@link DerivativeCache}. Requested widths are rounded up to a fixed
+ * ladder so the cache holds a handful of sizes per image rather than one
+ * per distinct {@code w}.
+ */
+@Component
+public class MediaService {
+
+    private static final int[] WIDTHS = {160, 320, 480, 640, 960, 1280, 1920};
+    private static final int MAX_REQUESTED_WIDTH = 8192;
+
+    private final Path sourceDirectory;
+    private final ExecutorService executor;
+    private final DerivativeCache cache;
+
+    /** Last-modified time of each original ImageIO failed to decode, by path. */
+    private final ConcurrentHashMap<Path, Long> undecodable = new ConcurrentHashMap<>();
+
+    public MediaService(@Value("${monastery360.media.source-dir:../public}") String sourceDirectory,
+                        @Value("${monastery360.media.cache-dir:${java.io.tmpdir}/monastery360-media}") String cacheDirectory,
+                        @Value("${monastery360.media.cache-max-bytes:268435456}") long cacheMaxBytes,
+                        @Value("${monastery360.media.workers:2}") int workers) throws IOException {
+        this.sourceDirectory = Paths.get(sourceDirectory).toAbsolutePath().normalize();
+        this.executor = newExecutor(workers);
+        this.cache = new DerivativeCache(Paths.get(cacheDirectory), cacheMaxBytes, executor);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * The file to serve for a media name. Without a width or format this is
+     * the original; otherwise a derivative at the next ladder width (never
+     * larger than the original). Originals ImageIO cannot decode, such as
+     * AVIF, are served as they are, and are not queued again until they
+     * change. The caller closes the returned file.
+     *
+     * @throws NoSuchFileException      if there is no such image
+     * @throws IllegalArgumentException for an invalid name, width or format
+     */
+    public MediaFile resolve(String name, Integer width, String format) throws IOException {
+        Path source = source(name);
+        BasicFileAttributes attrs = Files.readAttributes(source, BasicFileAttributes.class);
+        MediaFile original = new MediaFile(source, null, attrs.size(), attrs.lastModifiedTime().toMillis(),
+                originalContentType(name));
+        if (width == null && format == null) {
+            return original;
+        }
+        if (width != null && (width < 1 || width > MAX_REQUESTED_WIDTH)) {
+            throw new IllegalArgumentException("Width out of range: " + width);
+        }
+        int ladderWidth = ladderWidth(width == null ? Integer.MAX_VALUE : width);
+        MediaFormat mediaFormat = format == null ? MediaFormat.JPEG : MediaFormat.parse(format);
+        if (Long.valueOf(original.lastModified()).equals(undecodable.get(source))) {
+            return original;
+        }
+
+        // The source's timestamp is part of the key, so replacing an original orphans its old derivatives
+        String key = safeName(name) + "-" + Integer.toHexString(name.hashCode())
+                + "-" + Long.toHexString(original.lastModified()) + "-w" + ladderWidth + "." + mediaFormat.extension();
+        DerivativeCache.Generator generator = target -> ImageResizer.resize(source, target, ladderWidth, mediaFormat);
+        DerivativeCache.Entry derivative = cache.open(key, generator);
+        if (derivative == null) {
+            // Remembered until the original is replaced, so later requests skip the resize queue
+            undecodable.put(source, original.lastModified());
+            return original;
+        }
+        return new MediaFile(derivative.path, derivative.channel, derivative.size, derivative.lastModified,
+                mediaFormat.contentType());
+    }
+
+    private Path source(String name) throws NoSuchFileException {
+        if (name.isEmpty() || name.startsWith(".") || name.indexOf('/') >= 0 || name.indexOf('\\') >= 0
+                || name.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("Invalid media name");
+        }
+        if (originalContentType(name) == null) {
+            throw new NoSuchFileException(name);
+        }
+        Path source = sourceDirectory.resolve(name).normalize();
+        if (!source.getParent().equals(sourceDirectory) || !Files.isRegularFile(source)) {
+            throw new NoSuchFileException(name);
+        }
+        return source;
+    }
+
+    private static int ladderWidth(int width) {
+        for (int candidate : WIDTHS) {
+            if (candidate >= width) {
+                return candidate;
+            }
+        }
+        return WIDTHS[WIDTHS.length - 1];
+    }
+
+    private static String originalContentType(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) {
+            return "image/jpeg";
+        }
+        if (lower.endsWith(".png")) {
+            return "image/png";
+        }
+        if (lower.endsWith(".avif")) {
+            return "image/avif";
+        }
+        if (lower.endsWith(".webp")) {
+            return "image/webp";
+        }
+        if (lower.endsWith(".gif")) {
+            return "image/gif";
+        }
+        if (lower.endsWith(".svg")) {
+            return "image/svg+xml";
+        }
+        return null;
+    }
+
+    private static String safeName(String name) {
+        StringBuilder safe = new StringBuilder(name.length());
+        for (int i = 0; i < name.length() && safe.length() < 64; i++) {
+            char c = name.charAt(i);
+            safe.append((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ? c : '_');
+        }
+        return safe.toString();
+    }
+
+    private static ExecutorService newExecutor(int workers) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "media-resize-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
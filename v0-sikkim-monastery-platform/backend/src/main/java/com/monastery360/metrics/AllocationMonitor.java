@@ -0,0 +1,109 @@
+package com.monastery360.metrics;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bytes allocated by the JVM since startup, derived from the eden pools:
+ * every collection reports eden's occupancy before it ran, and everything
+ * in eden then was allocated after the previous collection emptied it. This
+ * costs nothing on the allocation path, unlike per-thread counters.
+ */
+@Component
+public class AllocationMonitor implements NotificationListener {
+
+    private final List<MemoryPoolMXBean> edenPools = new ArrayList<>();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+    /** Eden occupancy after the last collection, by pool; guarded by this. */
+    private final Map<String, Long> usedAfterGc = new HashMap<>();
+    private long allocatedBeforeLastGc;
+
+    public AllocationMonitor() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().contains("Eden")) {
+                edenPools.add(pool);
+                usedAfterGc.put(pool.getName(), 0L);
+            }
+        }
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) gc;
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GcInfo gc = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo();
+        Map<String, MemoryUsage> before = gc.getMemoryUsageBeforeGc();
+        Map<String, MemoryUsage> after = gc.getMemoryUsageAfterGc();
+        synchronized (this) {
+            for (MemoryPoolMXBean pool : edenPools) {
+                String name = pool.getName();
+                MemoryUsage usedBefore = before.get(name);
+                MemoryUsage usedAfter = after.get(name);
+                if (usedBefore == null || usedAfter == null) {
+                    continue;
+                }
+                allocatedBeforeLastGc += Math.max(0, usedBefore.getUsed() - usedAfterGc.get(name));
+                usedAfterGc.put(name, usedAfter.getUsed());
+            }
+        }
+    }
+
+    /**
+     * Bytes allocated since startup, including what eden holds now. Zero
+     * on collectors without an eden pool.
+     */
+    public synchronized long allocatedBytes() {
+        long allocated = allocatedBeforeLastGc;
+        for (MemoryPoolMXBean pool : edenPools) {
+            allocated += Math.max(0, pool.getUsage().getUsed() - usedAfterGc.get(pool.getName()));
+        }
+        return allocated;
+    }
+
+    /**
+     * Milliseconds spent in all collectors since startup.
+     */
+    public long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // already gone
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.monastery360.metrics;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Request and JVM metrics for a Prometheus scraper. Not exposed to the
+ * browser origins, as nothing in the frontend reads it.
+ */
+@RestController
+public class MetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType(PrometheusText.CONTENT_TYPE);
+
+    private final RequestMetrics requestMetrics;
+
+    public MetricsController(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @GetMapping("/api/metrics")
+    public ResponseEntity<String> getMetrics() {
+        return ResponseEntity.ok()
+                .contentType(PROMETHEUS_TEXT)
+                .cacheControl(CacheControl.noStore())
+                .body(requestMetrics.prometheus());
+    }
+}
@@ -0,0 +1,63 @@
+package com.monastery360.metrics;
+
+/**
+ * Builds a document in the Prometheus text exposition format, version
+ * 0.0.4.
+ */
+final class PrometheusText {
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final StringBuilder out = new StringBuilder(8192);
+
+    PrometheusText family(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    PrometheusText sample(String name, String labels, long value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+        return this;
+    }
+
+    PrometheusText sample(String name, String labels, double value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+        return this;
+    }
+
+    /**
+     * A label set such as {@code {method="GET",route="/api/search"}} from
+     * alternating names and values; empty for no labels.
+     */
+    static String labels(String... namesAndValues) {
+        if (namesAndValues.length == 0) {
+            return "";
+        }
+        StringBuilder labels = new StringBuilder("{");
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(namesAndValues[i]).append("=\"");
+            String value = namesAndValues[i + 1];
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                if (c == '\\' || c == '"') {
+                    labels.append('\\').append(c);
+                } else if (c == '\n') {
+                    labels.append("\\n");
+                } else {
+                    labels.append(c);
+                }
+            }
+            labels.append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
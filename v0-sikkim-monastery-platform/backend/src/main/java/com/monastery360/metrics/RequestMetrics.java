@@ -0,0 +1,130 @@
+package com.monastery360.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route request metrics recorded by {@link MetricsFilter}, and their
+ * rendering for {@code /api/metrics}. Routes are the matched handler
+ * patterns such as {@code /api/monasteries/{id}}, so the number of series is
+ * bounded by the number of endpoints. Quantiles cover about the last
+ * {@code window-seconds}; counts and sums are cumulative.
+ */
+@Component
+public class RequestMetrics {
+
+    static final String UNMATCHED = "unmatched";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] STATUS_CLASSES = {"other", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final AllocationMonitor allocationMonitor;
+    private final long windowNanos;
+    private final LongAdder inFlight = new LongAdder();
+
+    /** Route metrics by method, then by route pattern. */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, RouteMetrics>> routes = new ConcurrentHashMap<>();
+
+    public RequestMetrics(AllocationMonitor allocationMonitor,
+                          @Value("${monastery360.metrics.window-seconds:60}") int windowSeconds) {
+        this.allocationMonitor = allocationMonitor;
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+    }
+
+    void started() {
+        inFlight.increment();
+    }
+
+    void finished(String method, String route, long elapsedNanos, long bytes, int status) {
+        inFlight.decrement();
+        route(method, route).record(elapsedNanos, bytes, status);
+    }
+
+    private RouteMetrics route(String method, String route) {
+        ConcurrentHashMap<String, RouteMetrics> byRoute = routes.get(method);
+        if (byRoute == null) {
+            byRoute = routes.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+        }
+        RouteMetrics metrics = byRoute.get(route);
+        if (metrics == null) {
+            metrics = byRoute.computeIfAbsent(route, r -> new RouteMetrics(method, r, windowNanos));
+        }
+        return metrics;
+    }
+
+    /**
+     * All metrics in the Prometheus text format.
+     */
+    public String prometheus() {
+        List<RouteMetrics> all = new ArrayList<>();
+        for (ConcurrentHashMap<String, RouteMetrics> byRoute : routes.values()) {
+            all.addAll(byRoute.values());
+        }
+        all.sort(Comparator.comparing(RouteMetrics::route).thenComparing(RouteMetrics::method));
+        long now = System.nanoTime();
+        int size = all.size();
+        long[][] latency = new long[size][];
+        long[][] latencyWindow = new long[size][];
+        long[][] bytes = new long[size][];
+        long[][] bytesWindow = new long[size][];
+        for (int i = 0; i < size; i++) {
+            RouteMetrics route = all.get(i);
+            latency[i] = route.latencyMicros().cumulative();
+            latencyWindow[i] = route.latencyMicros().windowSnapshot(latency[i], now);
+            bytes[i] = route.responseBytes().cumulative();
+            bytesWindow[i] = route.responseBytes().windowSnapshot(bytes[i], now);
+        }
+
+        PrometheusText text = new PrometheusText();
+        text.family("http_server_requests_in_flight", "gauge", "Requests currently being handled.")
+                .sample("http_server_requests_in_flight", "", inFlight.sum());
+
+        text.family("http_server_requests_total", "counter", "Completed requests by route and status class.");
+        for (RouteMetrics route : all) {
+            for (int statusClass = 1; statusClass < STATUS_CLASSES.length; statusClass++) {
+                long count = route.responses(statusClass);
+                if (count > 0) {
+                    text.sample("http_server_requests_total", PrometheusText.labels("method", route.method(),
+                            "route", route.route(), "status", STATUS_CLASSES[statusClass]), count);
+                }
+            }
+        }
+
+        text.family("http_server_request_duration_seconds", "summary",
+                "Time from the request reaching the filter to the response completing.");
+        for (int i = 0; i < size; i++) {
+            summary(text, "http_server_request_duration_seconds", all.get(i), latency[i], latencyWindow[i], 1e6);
+        }
+
+        text.family("http_server_response_size_bytes", "summary", "Response body bytes written.");
+        for (int i = 0; i < size; i++) {
+            summary(text, "http_server_response_size_bytes", all.get(i), bytes[i], bytesWindow[i], 1);
+        }
+
+        text.family("jvm_memory_allocated_bytes_total", "counter", "Heap bytes allocated since startup.")
+                .sample("jvm_memory_allocated_bytes_total", "", allocationMonitor.allocatedBytes());
+        text.family("jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection since startup.")
+                .sample("jvm_gc_collection_seconds_total", "", allocationMonitor.gcMillis() / 1000.0);
+        return text.toString();
+    }
+
+    private static void summary(PrometheusText text, String name, RouteMetrics route,
+                                long[] cumulative, long[] window, double perUnit) {
+        long windowCount = StripedHistogram.count(window);
+        for (double q : QUANTILES) {
+            double value = windowCount == 0 ? Double.NaN : StripedHistogram.quantile(window, windowCount, q) / perUnit;
+            text.sample(name, PrometheusText.labels("method", route.method(), "route", route.route(),
+                    "quantile", Double.toString(q)), value);
+        }
+        String labels = PrometheusText.labels("method", route.method(), "route", route.route());
+        text.sample(name + "_sum", labels, StripedHistogram.sum(cumulative) / perUnit);
+        text.sample(name + "_count", labels, StripedHistogram.count(cumulative));
+    }
+}
@@ -0,0 +1,55 @@
+package com.monastery360.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, response size and status counts for one method and route
+ * pattern.
+ */
+final class RouteMetrics {
+
+    private final String method;
+    private final String route;
+    private final StripedHistogram latencyMicros;
+    private final StripedHistogram responseBytes;
+
+    /** Responses by status class: index 1 for 1xx up to 5 for 5xx. */
+    private final LongAdder[] statuses = new LongAdder[6];
+
+    RouteMetrics(String method, String route, long windowNanos) {
+        this.method = method;
+        this.route = route;
+        this.latencyMicros = new StripedHistogram(windowNanos);
+        this.responseBytes = new StripedHistogram(windowNanos);
+        for (int i = 0; i < statuses.length; i++) {
+            statuses[i] = new LongAdder();
+        }
+    }
+
+    void record(long elapsedNanos, long bytes, int status) {
+        latencyMicros.record(elapsedNanos / 1000);
+        responseBytes.record(bytes);
+        int statusClass = status / 100;
+        statuses[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].increment();
+    }
+
+    String method() {
+        return method;
+    }
+
+    String route() {
+        return route;
+    }
+
+    StripedHistogram latencyMicros() {
+        return latencyMicros;
+    }
+
+    StripedHistogram responseBytes() {
+        return responseBytes;
+    }
+
+    long responses(int statusClass) {
+        return statuses[statusClass].sum();
+    }
+}
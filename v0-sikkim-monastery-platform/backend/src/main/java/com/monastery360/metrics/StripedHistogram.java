@@ -0,0 +1,157 @@
+package com.monastery360.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A log-linear histogram of non-negative longs in the manner of
+ * HdrHistogram: each power of two is split into 32 linear sub-buckets, so a
+ * recorded value is reported within about 3% of its true value. Recording
+ * is lock-free and spread over per-thread stripes so that request threads
+ * do not contend on the same counters; readers sum the stripes.
+ *
+ * <p>Besides the cumulative counts, {@link #windowSnapshot} keeps a few
+ * cumulative snapshots taken at read time so quantiles can be reported over
+ * roughly the last {@code windowNanos} rather than since startup.
+ */
+final class StripedHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /** Slot after the buckets that holds the running sum. */
+    private static final int SUM = BUCKETS;
+    private static final int RING = 4;
+
+    private static final int STRIPES = stripes();
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+    private final long windowNanos;
+
+    /** Earlier cumulative snapshots, oldest first; guarded by this. */
+    private final long[][] ring = new long[RING][];
+    private final long[] ringTimes = new long[RING];
+    private int ringSize;
+
+    StripedHistogram(long windowNanos) {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS + 1);
+        }
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * Records one value; negative values count as zero and values above
+     * {@link #MAX_VALUE} as that maximum.
+     */
+    void record(long value) {
+        long v = value < 0 ? 0 : Math.min(value, MAX_VALUE);
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & (STRIPES - 1)];
+        stripe.incrementAndGet(index(v));
+        stripe.addAndGet(SUM, v);
+    }
+
+    /**
+     * Counts per bucket since startup, with the sum of all recorded values
+     * in the extra last slot.
+     */
+    long[] cumulative() {
+        long[] counts = new long[BUCKETS + 1];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i <= BUCKETS; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Counts per bucket recorded since the newest kept snapshot that is at
+     * least a window old, or since startup when there is none yet. Reading
+     * also keeps the current counts for later windows, at most a few per
+     * window.
+     */
+    synchronized long[] windowSnapshot(long[] cumulative, long nowNanos) {
+        long[] baseline = null;
+        for (int i = ringSize - 1; i >= 0; i--) {
+            if (nowNanos - ringTimes[i] >= windowNanos) {
+                baseline = ring[i];
+                break;
+            }
+        }
+        if (ringSize == 0 || nowNanos - ringTimes[ringSize - 1] >= windowNanos / (RING - 1)) {
+            if (ringSize == RING) {
+                System.arraycopy(ring, 1, ring, 0, RING - 1);
+                System.arraycopy(ringTimes, 1, ringTimes, 0, RING - 1);
+                ringSize--;
+            }
+            ring[ringSize] = cumulative;
+            ringTimes[ringSize] = nowNanos;
+            ringSize++;
+        }
+        if (baseline == null) {
+            return cumulative;
+        }
+        long[] window = new long[BUCKETS + 1];
+        for (int i = 0; i <= BUCKETS; i++) {
+            window[i] = cumulative[i] - baseline[i];
+        }
+        return window;
+    }
+
+    static long count(long[] counts) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    static long sum(long[] counts) {
+        return counts[SUM];
+    }
+
+    /**
+     * The value at quantile {@code q} of the counts, reported as the
+     * highest value of its bucket; zero when nothing was recorded.
+     */
+    static long quantile(long[] counts, long total, double q) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+        long subBucket = index - (shift << SUB_BUCKET_BITS);
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    // A power of two no larger than four and no larger than the processor count
+    private static int stripes() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return processors >= 4 ? 4 : processors >= 2 ? 2 : 1;
+    }
+}
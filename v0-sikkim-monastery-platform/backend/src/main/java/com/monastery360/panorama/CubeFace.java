@@ -0,0 +1,77 @@
+package com.monastery360.panorama;
+
+/**
+ * The six faces of the cube a panorama is projected onto, named by the
+ * single letters used in tile URLs. Each face maps its pixel coordinates
+ * {@code u} (left to right) and {@code v} (top to bottom), both in
+ * {@code [-1, 1]}, to a view direction; the viewer looks along -z, with +y up.
+ * Shared edges line up, e.g. the bottom row of {@code u} is the top row of
+ * {@code f}.
+ */
+enum CubeFace {
+
+    FRONT('f'),
+    BACK('b'),
+    LEFT('l'),
+    RIGHT('r'),
+    UP('u'),
+    DOWN('d');
+
+    static final CubeFace[] VALUES = values();
+
+    private final char code;
+
+    CubeFace(char code) {
+        this.code = code;
+    }
+
+    char code() {
+        return code;
+    }
+
+    /**
+     * Writes the (unnormalized) direction for face coordinates into {@code xyz}.
+     */
+    void direction(double u, double v, double[] xyz) {
+        switch (this) {
+            case FRONT:
+                set(xyz, u, -v, -1);
+                break;
+            case BACK:
+                set(xyz, -u, -v, 1);
+                break;
+            case LEFT:
+                set(xyz, -1, -v, -u);
+                break;
+            case RIGHT:
+                set(xyz, 1, -v, u);
+                break;
+            case UP:
+                set(xyz, u, 1, -v);
+                break;
+            default:
+                set(xyz, u, -1, v);
+                break;
+        }
+    }
+
+    /**
+     * The face for a URL letter, or null.
+     */
+    static CubeFace of(String code) {
+        if (code.length() == 1) {
+            for (CubeFace face : VALUES) {
+                if (face.code == code.charAt(0)) {
+                    return face;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void set(double[] xyz, double x, double y, double z) {
+        xyz[0] = x;
+        xyz[1] = y;
+        xyz[2] = z;
+    }
+}
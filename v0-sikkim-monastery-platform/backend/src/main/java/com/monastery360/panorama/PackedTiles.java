@@ -0,0 +1,162 @@
+package com.monastery360.panorama;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A panorama's tile pyramid in one file, mapped read-only. Layout, all
+ * integers big-endian:
+ * <pre>
+ * magic "M360TILE", int format version, long source timestamp,
+ * int tile size, int level count, per level: int face size,
+ * then per tile (level, face, row, column order): long offset, int length,
+ * then the JPEG tiles back to back.
+ * </pre>
+ * The index is copied into arrays on open; tile bodies stay in the mapping
+ * and are written to responses as slices of it.
+ */
+final class PackedTiles {
+
+    static final byte[] MAGIC = "M360TILE".getBytes(StandardCharsets.US_ASCII);
+    static final int FORMAT_VERSION = 1;
+    static final int INDEX_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final long sourceLastModified;
+    private final int tileSize;
+    private final int[] faceSizes;
+    /** Index of the first tile of each level. */
+    private final int[] levelStarts;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final MappedByteBuffer mapping;
+
+    private PackedTiles(long sourceLastModified, int tileSize, int[] faceSizes, int[] levelStarts,
+                        long[] offsets, int[] lengths, MappedByteBuffer mapping) {
+        this.sourceLastModified = sourceLastModified;
+        this.tileSize = tileSize;
+        this.faceSizes = faceSizes;
+        this.levelStarts = levelStarts;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.mapping = mapping;
+    }
+
+    static PackedTiles open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Tile pack too large to map: " + file);
+            }
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer header = mapping.duplicate();
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || header.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not a tile pack: " + file);
+            }
+            long sourceLastModified = header.getLong();
+            int tileSize = header.getInt();
+            int levels = header.getInt();
+            if (tileSize < 1 || levels < 0 || levels > 31) {
+                throw new IOException("Corrupt tile pack header in " + file);
+            }
+            int[] faceSizes = new int[levels];
+            for (int level = 0; level < levels; level++) {
+                faceSizes[level] = header.getInt();
+                // Coarsest first, and level 0 fits each face in one tile
+                int previous = level == 0 ? 0 : faceSizes[level - 1];
+                if (faceSizes[level] <= previous || faceSizes[level] > Integer.MAX_VALUE - tileSize
+                        || (level == 0 && faceSizes[level] > tileSize)) {
+                    throw new IOException("Corrupt tile pack levels in " + file);
+                }
+            }
+            // Bound the index by the bytes that are actually there before allocating it
+            long maxCount = header.remaining() / INDEX_ENTRY_BYTES;
+            int[] levelStarts = new int[levels + 1];
+            for (int level = 0; level < levels; level++) {
+                long tiles = tilesPerSide(faceSizes[level], tileSize);
+                if (tiles > maxCount || levelStarts[level] + CubeFace.VALUES.length * tiles * tiles > maxCount) {
+                    throw new IOException("Tile index of " + file + " is larger than the file");
+                }
+                levelStarts[level + 1] = levelStarts[level] + CubeFace.VALUES.length * (int) (tiles * tiles);
+            }
+            int count = levelStarts[levels];
+            long[] offsets = new long[count];
+            int[] lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = header.getLong();
+                lengths[i] = header.getInt();
+                if (offsets[i] < 0 || lengths[i] < 0 || offsets[i] + lengths[i] > size) {
+                    throw new IOException("Corrupt tile index in " + file);
+                }
+            }
+            return new PackedTiles(sourceLastModified, tileSize, faceSizes, levelStarts, offsets, lengths, mapping);
+        } catch (BufferUnderflowException e) {
+            // Truncated or garbled header
+            throw new IOException("Corrupt tile pack: " + file, e);
+        }
+    }
+
+    static int tilesPerSide(int faceSize, int tileSize) {
+        return (faceSize + tileSize - 1) / tileSize;
+    }
+
+    long sourceLastModified() {
+        return sourceLastModified;
+    }
+
+    int tileSize() {
+        return tileSize;
+    }
+
+    int levels() {
+        return faceSizes.length;
+    }
+
+    int faceSize(int level) {
+        return faceSizes[level];
+    }
+
+    int tilesPerSide(int level) {
+        return tilesPerSide(faceSizes[level], tileSize);
+    }
+
+    /**
+     * Index of a tile, or -1 if the coordinates are outside the pyramid.
+     */
+    int tileIndex(int level, CubeFace face, int x, int y) {
+        if (level < 0 || level >= faceSizes.length) {
+            return -1;
+        }
+        int tiles = tilesPerSide(level);
+        if (x < 0 || y < 0 || x >= tiles || y >= tiles) {
+            return -1;
+        }
+        return levelStarts[level] + (face.ordinal() * tiles + y) * tiles + x;
+    }
+
+    int length(int tile) {
+        return lengths[tile];
+    }
+
+    void writeTile(int tile, OutputStream out, long position, long count) throws IOException {
+        ByteBuffer slice = mapping.duplicate();
+        int start = (int) (offsets[tile] + position);
+        slice.position(start);
+        slice.limit(start + (int) count);
+        WritableByteChannel channel = Channels.newChannel(out);
+        while (slice.hasRemaining()) {
+            channel.write(slice);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.monastery360.panorama;
+
+public final class Panorama {
+
+    private final int id;
+    private final int monasteryId;
+    private final String title;
+    private final String sourceFile;
+
+    public Panorama(int id, int monasteryId, String title, String sourceFile) {
+        this.id = id;
+        this.monasteryId = monasteryId;
+        this.title = title;
+        this.sourceFile = sourceFile;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getMonasteryId() {
+        return monasteryId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Equirectangular source image in the media directory; not part of the API.
+     */
+    String sourceFile() {
+        return sourceFile;
+    }
+}
@@ -0,0 +1,77 @@
+package com.monastery360.panorama;
+
+import com.monastery360.http.ConditionalResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:3000", "https://monastery360.vercel.app"})
+public class PanoramaController {
+
+    /** Tile URLs carry the pack version, so a given URL never changes content. */
+    private static final String TILE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final PanoramaService panoramaService;
+
+    public PanoramaController(PanoramaService panoramaService) {
+        this.panoramaService = panoramaService;
+    }
+
+    @GetMapping("/api/panoramas/{id}")
+    public ResponseEntity<PanoramaInfo> getPanorama(@PathVariable int id) throws IOException {
+        Panorama panorama = panoramaService.panorama(id);
+        if (panorama == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(panoramaService.info(panorama));
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * One JPEG tile of face {@code face} (f, b, l, r, u or d) at zoom
+     * {@code level}, column {@code x} and row {@code y}, served from the
+     * mapped pack.
+     */
+    @GetMapping("/api/panoramas/{id}/{level}/{face}/{x}/{y}")
+    public void getTile(@PathVariable int id,
+                        @PathVariable int level,
+                        @PathVariable String face,
+                        @PathVariable int x,
+                        @PathVariable int y,
+                        HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        Panorama panorama = panoramaService.panorama(id);
+        CubeFace cubeFace = CubeFace.of(face);
+        if (panorama == null || cubeFace == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        PackedTiles tiles;
+        try {
+            tiles = panoramaService.tiles(panorama);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        int tile = tiles.tileIndex(level, cubeFace, x, y);
+        if (tile < 0) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String etag = "\"" + PanoramaService.version(tiles) + "-" + tile + "\"";
+        ConditionalResponse.serve(request, response, tiles.length(tile), etag, tiles.sourceLastModified(),
+                "image/jpeg", TILE_CACHE_CONTROL,
+                (position, count) -> tiles.writeTile(tile, response.getOutputStream(), position, count));
+    }
+}
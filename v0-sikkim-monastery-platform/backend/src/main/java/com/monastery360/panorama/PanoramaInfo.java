@@ -0,0 +1,87 @@
+package com.monastery360.panorama;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/**
+ * What a viewer needs to request tiles: the pyramid's levels and a URL
+ * template. Tile URLs carry the pyramid version, so they can be cached as
+ * immutable and still change when the source image does.
+ */
+@JsonPropertyOrder({"id", "monasteryId", "title", "tileSize", "faces", "levels", "version", "tileUrl"})
+public final class PanoramaInfo {
+
+    private final Panorama panorama;
+    private final int tileSize;
+    private final List<Level> levels;
+    private final String version;
+
+    PanoramaInfo(Panorama panorama, int tileSize, List<Level> levels, String version) {
+        this.panorama = panorama;
+        this.tileSize = tileSize;
+        this.levels = levels;
+        this.version = version;
+    }
+
+    public int getId() {
+        return panorama.getId();
+    }
+
+    public int getMonasteryId() {
+        return panorama.getMonasteryId();
+    }
+
+    public String getTitle() {
+        return panorama.getTitle();
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Face letters used in tile URLs.
+     */
+    public String getFaces() {
+        StringBuilder faces = new StringBuilder(CubeFace.VALUES.length);
+        for (CubeFace face : CubeFace.VALUES) {
+            faces.append(face.code());
+        }
+        return faces.toString();
+    }
+
+    public List<Level> getLevels() {
+        return levels;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getTileUrl() {
+        return "/api/panoramas/" + panorama.getId() + "/{level}/{face}/{x}/{y}?v=" + version;
+    }
+
+    public static final class Level {
+
+        private final int faceSize;
+        private final int tiles;
+
+        Level(int faceSize, int tiles) {
+            this.faceSize = faceSize;
+            this.tiles = tiles;
+        }
+
+        public int getFaceSize() {
+            return faceSize;
+        }
+
+        /**
+         * Tiles along each edge of a face.
+         */
+        public int getTiles() {
+            return tiles;
+        }
+    }
+}
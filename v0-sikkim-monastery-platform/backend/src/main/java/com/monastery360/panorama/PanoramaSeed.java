@@ -0,0 +1,20 @@
+package com.monastery360.panorama;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+final class PanoramaSeed {
+
+    private PanoramaSeed() {
+    }
+
+    static List<Panorama> panoramas() {
+        return Collections.unmodifiableList(Arrays.asList(
+                new Panorama(1, 1, "Rumtek Monastery - 360° Virtual Tour",
+                        "rumtek-monastery-golden-roof-traditional-architect.jpg"),
+                new Panorama(2, 2, "Pemayangtse Monastery - 360° Virtual Tour",
+                        "pemayangtse-monastery-white-walls-mountain-view.jpg")
+        ));
+    }
+}
@@ -0,0 +1,141 @@
+package com.monastery360.panorama;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Panorama tile pyramids, built from the source images on first request and
+ * rebuilt when a source changes. Packs persist in the tile directory across
+ * restarts; concurrent first requests for one panorama share a single build.
+ */
+@Component
+public class PanoramaService {
+
+    private static final Logger log = LoggerFactory.getLogger(PanoramaService.class);
+
+    private final List<Panorama> panoramas;
+    private final Path sourceDirectory;
+    private final Path tileDirectory;
+    private final int tileSize;
+    private final ConcurrentHashMap<Integer, PackedTiles> loaded = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, CompletableFuture<PackedTiles>> building = new ConcurrentHashMap<>();
+
+    public PanoramaService(@Value("${monastery360.media.source-dir:../public}") String sourceDirectory,
+                           @Value("${monastery360.panorama.tile-dir:${java.io.tmpdir}/monastery360-panoramas}") String tileDirectory,
+                           @Value("${monastery360.panorama.tile-size:512}") int tileSize) throws IOException {
+        if (tileSize < 16 || Integer.bitCount(tileSize) != 1) {
+            throw new IllegalArgumentException("Tile size must be a power of two of at least 16: " + tileSize);
+        }
+        this.panoramas = PanoramaSeed.panoramas();
+        this.sourceDirectory = Paths.get(sourceDirectory).toAbsolutePath().normalize();
+        this.tileDirectory = Files.createDirectories(Paths.get(tileDirectory));
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * The panorama with this id, or null.
+     */
+    public Panorama panorama(int id) {
+        for (Panorama panorama : panoramas) {
+            if (panorama.getId() == id) {
+                return panorama;
+            }
+        }
+        return null;
+    }
+
+    public PanoramaInfo info(Panorama panorama) throws IOException {
+        PackedTiles tiles = tiles(panorama);
+        List<PanoramaInfo.Level> levels = new ArrayList<>(tiles.levels());
+        for (int level = 0; level < tiles.levels(); level++) {
+            levels.add(new PanoramaInfo.Level(tiles.faceSize(level), tiles.tilesPerSide(level)));
+        }
+        return new PanoramaInfo(panorama, tiles.tileSize(), levels, version(tiles));
+    }
+
+    /**
+     * The current pack for a panorama, building it if it is missing or
+     * older than its source.
+     *
+     * @throws NoSuchFileException if the source image is missing
+     */
+    PackedTiles tiles(Panorama panorama) throws IOException {
+        long sourceLastModified = Files.getLastModifiedTime(source(panorama)).toMillis();
+        PackedTiles tiles = loaded.get(panorama.getId());
+        if (tiles != null && tiles.sourceLastModified() == sourceLastModified && tiles.tileSize() == tileSize) {
+            return tiles;
+        }
+        CompletableFuture<PackedTiles> created = new CompletableFuture<>();
+        CompletableFuture<PackedTiles> existing = building.putIfAbsent(panorama.getId(), created);
+        if (existing == null) {
+            try {
+                created.complete(load(panorama, sourceLastModified));
+            } catch (IOException e) {
+                created.completeExceptionally(new UncheckedIOException(e));
+            } catch (RuntimeException | Error e) {
+                created.completeExceptionally(e);
+            } finally {
+                building.remove(panorama.getId(), created);
+            }
+        }
+        try {
+            return (existing == null ? created : existing).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Validator shared by every tile of a pack.
+     */
+    static String version(PackedTiles tiles) {
+        return Long.toHexString(tiles.sourceLastModified()) + "-" + Integer.toHexString(tiles.tileSize());
+    }
+
+    private PackedTiles load(Panorama panorama, long sourceLastModified) throws IOException {
+        Path pack = tileDirectory.resolve("panorama-" + panorama.getId() + ".tiles");
+        if (Files.exists(pack)) {
+            PackedTiles existing = openExisting(pack);
+            if (existing != null && existing.sourceLastModified() == sourceLastModified
+                    && existing.tileSize() == tileSize) {
+                loaded.put(panorama.getId(), existing);
+                return existing;
+            }
+        }
+        TilePyramidBuilder.build(source(panorama), sourceLastModified, pack, tileSize);
+        PackedTiles tiles = PackedTiles.open(pack);
+        loaded.put(panorama.getId(), tiles);
+        return tiles;
+    }
+
+    // A pack that cannot be read (truncated, corrupt, older format) is stale and gets rebuilt
+    private static PackedTiles openExisting(Path pack) {
+        try {
+            return PackedTiles.open(pack);
+        } catch (IOException e) {
+            log.warn("Rebuilding unreadable tile pack {}: {}", pack, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path source(Panorama panorama) {
+        return sourceDirectory.resolve(panorama.sourceFile());
+    }
+}
@@ -0,0 +1,193 @@
+package com.monastery360.panorama;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cuts an equirectangular panorama into a cube-map tile pyramid and writes
+ * it as a {@link PackedTiles} file. The largest level samples the source
+ * bilinearly along each face pixel's view direction; smaller levels are 2x2
+ * box-filtered from the level above. Level 0 fits each face in one tile.
+ */
+final class TilePyramidBuilder {
+
+    private static final int MIN_FACE_SIZE = 64;
+    private static final int MAX_FACE_SIZE = 4096;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private TilePyramidBuilder() {
+    }
+
+    /**
+     * Writes the pack for {@code source} to {@code target}, replacing it
+     * atomically.
+     *
+     * @throws IOException if the source cannot be decoded
+     */
+    static void build(Path source, long sourceLastModified, Path target, int tileSize) throws IOException {
+        BufferedImage image = ImageIO.read(source.toFile());
+        if (image == null) {
+            throw new IOException("No decoder for panorama " + source);
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+        int maxFaceSize = Math.min(MAX_FACE_SIZE, Integer.highestOneBit(Math.max(MIN_FACE_SIZE, width / 4)));
+        List<Integer> faceSizes = new ArrayList<>();
+        for (int size = Math.min(tileSize, maxFaceSize); size <= maxFaceSize; size *= 2) {
+            faceSizes.add(size);
+        }
+
+        // Tiles of each level, coarsest first, in the order the index lists them
+        List<List<byte[]>> levels = new ArrayList<>();
+        for (int i = 0; i < faceSizes.size(); i++) {
+            levels.add(new ArrayList<>());
+        }
+        for (CubeFace face : CubeFace.VALUES) {
+            int[] facePixels = sampleFace(pixels, width, height, face, maxFaceSize);
+            for (int level = faceSizes.size() - 1; level >= 0; level--) {
+                int faceSize = faceSizes.get(level);
+                if (faceSize < maxFaceSize) {
+                    facePixels = halve(facePixels, faceSize * 2);
+                }
+                cutTiles(facePixels, faceSize, tileSize, levels.get(level));
+            }
+        }
+
+        Path partial = target.resolveSibling(target.getFileName() + ".partial");
+        try (OutputStream file = Files.newOutputStream(partial);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.write(PackedTiles.MAGIC);
+            out.writeInt(PackedTiles.FORMAT_VERSION);
+            out.writeLong(sourceLastModified);
+            out.writeInt(tileSize);
+            out.writeInt(faceSizes.size());
+            int tileCount = 0;
+            for (int level = 0; level < faceSizes.size(); level++) {
+                out.writeInt(faceSizes.get(level));
+                tileCount += levels.get(level).size();
+            }
+            long offset = out.size() + tileCount * (long) PackedTiles.INDEX_ENTRY_BYTES;
+            for (List<byte[]> tiles : levels) {
+                for (byte[] tile : tiles) {
+                    out.writeLong(offset);
+                    out.writeInt(tile.length);
+                    offset += tile.length;
+                }
+            }
+            for (List<byte[]> tiles : levels) {
+                for (byte[] tile : tiles) {
+                    out.write(tile);
+                }
+            }
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static int[] sampleFace(int[] pixels, int width, int height, CubeFace face, int size) {
+        int[] out = new int[size * size];
+        double[] dir = new double[3];
+        for (int row = 0; row < size; row++) {
+            double v = 2.0 * (row + 0.5) / size - 1;
+            for (int col = 0; col < size; col++) {
+                double u = 2.0 * (col + 0.5) / size - 1;
+                face.direction(u, v, dir);
+                double longitude = Math.atan2(dir[0], -dir[2]);
+                double latitude = Math.atan2(dir[1], Math.sqrt(dir[0] * dir[0] + dir[2] * dir[2]));
+                double sx = (longitude / (2 * Math.PI) + 0.5) * width - 0.5;
+                double sy = (0.5 - latitude / Math.PI) * height - 0.5;
+                out[row * size + col] = bilinear(pixels, width, height, sx, sy);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Bilinear sample that wraps horizontally (longitude) and clamps
+     * vertically (the poles).
+     */
+    private static int bilinear(int[] pixels, int width, int height, double x, double y) {
+        int x0 = (int) Math.floor(x);
+        int y0 = (int) Math.floor(y);
+        double fx = x - x0;
+        double fy = y - y0;
+        int xa = Math.floorMod(x0, width);
+        int xb = Math.floorMod(x0 + 1, width);
+        int ya = Math.max(0, Math.min(height - 1, y0));
+        int yb = Math.max(0, Math.min(height - 1, y0 + 1));
+        int p00 = pixels[ya * width + xa];
+        int p10 = pixels[ya * width + xb];
+        int p01 = pixels[yb * width + xa];
+        int p11 = pixels[yb * width + xb];
+        int rgb = 0;
+        for (int shift = 0; shift <= 16; shift += 8) {
+            double top = ((p00 >> shift) & 0xff) * (1 - fx) + ((p10 >> shift) & 0xff) * fx;
+            double bottom = ((p01 >> shift) & 0xff) * (1 - fx) + ((p11 >> shift) & 0xff) * fx;
+            rgb |= ((int) Math.round(top * (1 - fy) + bottom * fy)) << shift;
+        }
+        return rgb;
+    }
+
+    private static int[] halve(int[] pixels, int size) {
+        int half = size / 2;
+        int[] out = new int[half * half];
+        for (int row = 0; row < half; row++) {
+            for (int col = 0; col < half; col++) {
+                int i = (row * 2) * size + col * 2;
+                int a = pixels[i];
+                int b = pixels[i + 1];
+                int c = pixels[i + size];
+                int d = pixels[i + size + 1];
+                int rgb = 0;
+                for (int shift = 0; shift <= 16; shift += 8) {
+                    int sum = ((a >> shift) & 0xff) + ((b >> shift) & 0xff) + ((c >> shift) & 0xff) + ((d >> shift) & 0xff);
+                    rgb |= ((sum + 2) >> 2) << shift;
+                }
+                out[row * half + col] = rgb;
+            }
+        }
+        return out;
+    }
+
+    private static void cutTiles(int[] pixels, int faceSize, int tileSize, List<byte[]> tiles) throws IOException {
+        int perSide = PackedTiles.tilesPerSide(faceSize, tileSize);
+        int edge = Math.min(tileSize, faceSize);
+        for (int y = 0; y < perSide; y++) {
+            for (int x = 0; x < perSide; x++) {
+                BufferedImage tile = new BufferedImage(edge, edge, BufferedImage.TYPE_INT_RGB);
+                tile.setRGB(0, 0, edge, edge, pixels, y * edge * faceSize + x * edge, faceSize);
+                tiles.add(jpeg(tile));
+            }
+        }
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
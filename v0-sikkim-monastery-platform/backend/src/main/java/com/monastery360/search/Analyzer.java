@@ -0,0 +1,344 @@
+package com.monastery360.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * Bilingual analysis pipeline for English, Nepali and Hindi text:
+ * <ol>
+ *   <li>NFC normalization (skipped when the input is already normalized);</li>
+ *   <li>tokenization that keeps Devanagari vowel signs, viramas and joiners
+ *       inside a word;</li>
+ *   <li>stopword removal and light stemming (English plurals, Nepali
+ *       postpositions and plural {@code हरू}, Hindi oblique plurals);</li>
+ *   <li>Devanagari words are transliterated to the Latin spelling a visitor
+ *       would type, so "Rumtek" and "रुम्तेक" produce the same term.</li>
+ * </ol>
+ * Tokens are built in reused char buffers; no String is created per token.
+ * Instances are not thread-safe.
+ */
+final class Analyzer {
+
+    private static final char DEVANAGARI_START = '\u0900';
+    private static final char DEVANAGARI_END = '\u097F';
+    private static final char ANUSVARA = '\u0902';
+    private static final char NUKTA = '\u093C';
+    private static final char VIRAMA = '\u094D';
+    private static final char ZWNJ = '\u200C';
+    private static final char ZWJ = '\u200D';
+
+    private static final String[] CONSONANTS = new String[0x80];
+    private static final String[] VOWELS = new String[0x80];
+    private static final String[] VOWEL_SIGNS = new String[0x80];
+
+    /**
+     * Shortest stem left after stripping a suffix, in chars; keeps words such
+     * as लामा from losing a final syllable that only looks like a postposition.
+     */
+    private static final int MIN_NATIVE_STEM = 3;
+
+    private static final char[][] NATIVE_SUFFIXES = {
+            "हरूलाई".toCharArray(), "हरूबाट".toCharArray(), "हरूको".toCharArray(), "हरूका".toCharArray(),
+            "हरूकी".toCharArray(), "हरूमा".toCharArray(), "हरूले".toCharArray(), "हरू".toCharArray(),
+            "हरु".toCharArray(), "द्वारा".toCharArray(), "देखि".toCharArray(), "लाई".toCharArray(),
+            "बाट".toCharArray(), "सँग".toCharArray(), "सित".toCharArray(), "को".toCharArray(),
+            "का".toCharArray(), "की".toCharArray(), "मा".toCharArray(), "ले".toCharArray(),
+            "ियों".toCharArray(), "ियाँ".toCharArray(), "ियां".toCharArray(), "ाओं".toCharArray(),
+            "ाएँ".toCharArray(), "ाएं".toCharArray(), "ों".toCharArray(), "ें".toCharArray()
+    };
+
+    /**
+     * What each entry of {@link #NATIVE_SUFFIXES} is replaced with; Hindi
+     * plurals keep the vowel of the singular.
+     */
+    private static final char[][] NATIVE_REPLACEMENTS = {
+            {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {}, {},
+            "ी".toCharArray(), "ी".toCharArray(), "ी".toCharArray(), "ा".toCharArray(),
+            "ा".toCharArray(), "ा".toCharArray(), {}, {}
+    };
+
+    private static final String[] STOPWORDS = {
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "its", "of",
+            "on", "or", "s", "that", "the", "this", "to", "with",
+            "र", "को", "का", "की", "के", "मा", "ले", "लाई", "छ", "छन्", "हो", "पनि", "यो", "त्यो", "जुन",
+            "गर्छ", "गर्छन्", "है", "हैं", "में", "से", "और", "तथा", "एवं"
+    };
+
+    private static final char[] LATIN_FOLD = new char[0x1F00];
+    private static final TermDictionary STOPWORD_TERMS = new TermDictionary();
+
+    static {
+        String consonants = "क:k ख:kh ग:g घ:gh ङ:ng च:ch छ:chh ज:j झ:jh ञ:ny ट:t ठ:th ड:d ढ:dh ण:n "
+                + "त:t थ:th द:d ध:dh न:n प:p फ:ph ब:b भ:bh म:m य:y र:r ल:l ळ:l व:v श:sh ष:sh स:s ह:h";
+        String vowels = "अ:a आ:a इ:i ई:i उ:u ऊ:u ऋ:ri ए:e ऐ:ai ओ:o औ:au";
+        String vowelSigns = "ा:a ि:i ी:i ु:u ू:u ृ:ri े:e ै:ai ो:o ौ:au";
+        fill(CONSONANTS, consonants);
+        fill(VOWELS, vowels);
+        fill(VOWEL_SIGNS, vowelSigns);
+
+        for (char c = '\u00C0'; c < LATIN_FOLD.length; c++) {
+            if (c > '\u024F' && c < '\u1E00') {
+                continue;
+            }
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            char base = Character.toLowerCase(decomposed.charAt(0));
+            if (base < 0x80 && Character.isLetter(base)) {
+                LATIN_FOLD[c] = base;
+            }
+        }
+        LATIN_FOLD['\u00D8'] = 'o';
+        LATIN_FOLD['\u00F8'] = 'o';
+        LATIN_FOLD['\u0110'] = 'd';
+        LATIN_FOLD['\u0111'] = 'd';
+        LATIN_FOLD['\u0141'] = 'l';
+        LATIN_FOLD['\u0142'] = 'l';
+
+        for (String stopword : STOPWORDS) {
+            char[] chars = Normalizer.normalize(stopword, Normalizer.Form.NFC).toCharArray();
+            STOPWORD_TERMS.add(chars, chars.length);
+        }
+    }
+
+    private char[] token = new char[32];
+    private int tokenLength;
+    private boolean devanagari;
+    private char[] output = new char[64];
+    private int outputLength;
+
+    void analyze(CharSequence text, TokenSink sink) {
+        if (text == null) {
+            return;
+        }
+        CharSequence normalized = Normalizer.isNormalized(text, Normalizer.Form.NFC)
+                ? text
+                : Normalizer.normalize(text, Normalizer.Form.NFC);
+        tokenLength = 0;
+        devanagari = false;
+        for (int i = 0, n = normalized.length(); i < n; i++) {
+            char c = normalized.charAt(i);
+            if (c == ZWJ || c == ZWNJ) {
+                continue;
+            }
+            if (isTermChar(c)) {
+                if (tokenLength == token.length) {
+                    token = Arrays.copyOf(token, tokenLength * 2);
+                }
+                token[tokenLength++] = c;
+                devanagari |= isDevanagari(c);
+            } else if (tokenLength > 0) {
+                emit(sink);
+            }
+        }
+        if (tokenLength > 0) {
+            emit(sink);
+        }
+    }
+
+    private void emit(TokenSink sink) {
+        if (devanagari) {
+            emitDevanagari(sink);
+        } else {
+            emitLatin(sink);
+        }
+        tokenLength = 0;
+        devanagari = false;
+    }
+
+    private void emitLatin(TokenSink sink) {
+        for (int i = 0; i < tokenLength; i++) {
+            char c = Character.toLowerCase(token[i]);
+            if (c < LATIN_FOLD.length && LATIN_FOLD[c] != 0) {
+                c = LATIN_FOLD[c];
+            }
+            token[i] = c;
+        }
+        if (STOPWORD_TERMS.find(token, tokenLength) >= 0) {
+            return;
+        }
+        for (int i = 0; i < tokenLength; i++) {
+            // Romanized Nepali and Tibetan names use v and w interchangeably
+            if (token[i] == 'w') {
+                token[i] = 'v';
+            }
+        }
+        tokenLength = stemEnglish(token, tokenLength);
+        sink.accept(token, tokenLength);
+    }
+
+    private void emitDevanagari(TokenSink sink) {
+        if (STOPWORD_TERMS.find(token, tokenLength) >= 0) {
+            return;
+        }
+        tokenLength = stemNative(token, tokenLength);
+        transliterate();
+        if (outputLength > 0) {
+            sink.accept(output, outputLength);
+        }
+    }
+
+    /**
+     * Minimal plural stemmer (Harman's S-stemmer).
+     */
+    static int stemEnglish(char[] term, int length) {
+        if (length <= 3 || term[length - 1] != 's') {
+            return length;
+        }
+        char c1 = term[length - 2];
+        char c2 = term[length - 3];
+        if (c1 == 'e' && c2 == 'i' && term[length - 4] != 'e' && term[length - 4] != 'a') {
+            term[length - 3] = 'y';
+            return length - 2;
+        }
+        if (c1 == 'e' && c2 != 'a' && c2 != 'e' && c2 != 'o') {
+            return length - 1;
+        }
+        if (c1 != 'u' && c1 != 's' && c1 != 'e') {
+            return length - 1;
+        }
+        return length;
+    }
+
+    static int stemNative(char[] term, int length) {
+        for (int s = 0; s < NATIVE_SUFFIXES.length; s++) {
+            char[] suffix = NATIVE_SUFFIXES[s];
+            int stemLength = length - suffix.length;
+            if (stemLength < MIN_NATIVE_STEM || !endsWith(term, length, suffix)) {
+                continue;
+            }
+            if (term[stemLength - 1] == VIRAMA) {
+                // Inside a conjunct (थाङ्का), so not a postposition
+                continue;
+            }
+            char[] replacement = NATIVE_REPLACEMENTS[s];
+            System.arraycopy(replacement, 0, term, stemLength, replacement.length);
+            return stemLength + replacement.length;
+        }
+        return length;
+    }
+
+    /**
+     * Writes the Latin spelling of the current Devanagari token to the output
+     * buffer. The inherent vowel is dropped word-finally, and medially when it
+     * sits between a vowel and a consonant that carries its own vowel sign
+     * (रुमटेक → rumtek), which approximates Nepali and Hindi schwa deletion.
+     */
+    private void transliterate() {
+        outputLength = 0;
+        boolean afterVowel = false;
+        for (int i = 0; i < tokenLength; i++) {
+            char c = token[i];
+            if (!isDevanagari(c)) {
+                if (c < 0x80) {
+                    append(Character.toLowerCase(c));
+                    afterVowel = false;
+                }
+                continue;
+            }
+            int index = c - DEVANAGARI_START;
+            if (CONSONANTS[index] != null) {
+                append(CONSONANTS[index]);
+                int next = skipNukta(i + 1);
+                if (next < tokenLength && isVowelSign(token[next])) {
+                    append(VOWEL_SIGNS[token[next] - DEVANAGARI_START]);
+                    afterVowel = true;
+                    i = next;
+                } else if (next < tokenLength && token[next] == VIRAMA) {
+                    afterVowel = false;
+                    i = next;
+                } else if (next >= tokenLength) {
+                    // Final schwa is silent unless the word is a lone consonant
+                    if (outputLength == CONSONANTS[index].length()) {
+                        append('a');
+                    }
+                    i = next - 1;
+                } else if (afterVowel && isConsonant(token[next]) && carriesVowelSign(next)) {
+                    afterVowel = false;
+                    i = next - 1;
+                } else {
+                    append('a');
+                    afterVowel = true;
+                    i = next - 1;
+                }
+            } else if (VOWELS[index] != null) {
+                append(VOWELS[index]);
+                afterVowel = true;
+            } else if (VOWEL_SIGNS[index] != null) {
+                append(VOWEL_SIGNS[index]);
+                afterVowel = true;
+            } else if (c == ANUSVARA) {
+                append(i + 1 < tokenLength && isLabial(token[i + 1]) ? 'm' : 'n');
+            } else if (c >= '०' && c <= '९') {
+                append((char) ('0' + (c - '०')));
+                afterVowel = false;
+            }
+            // Chandrabindu, visarga, nukta and stray viramas carry no letters
+        }
+    }
+
+    private int skipNukta(int i) {
+        while (i < tokenLength && token[i] == NUKTA) {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean carriesVowelSign(int consonant) {
+        int next = skipNukta(consonant + 1);
+        return next < tokenLength && isVowelSign(token[next]);
+    }
+
+    private void append(String chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            append(chars.charAt(i));
+        }
+    }
+
+    private void append(char c) {
+        if (outputLength == output.length) {
+            output = Arrays.copyOf(output, outputLength * 2);
+        }
+        output[outputLength++] = c;
+    }
+
+    private static boolean endsWith(char[] term, int length, char[] suffix) {
+        int offset = length - suffix.length;
+        for (int i = 0; i < suffix.length; i++) {
+            if (term[offset + i] != suffix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTermChar(char c) {
+        if (Character.isLetterOrDigit(c)) {
+            return true;
+        }
+        // Devanagari vowel signs and viramas are combining marks, not letters
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    private static boolean isDevanagari(char c) {
+        return c >= DEVANAGARI_START && c <= DEVANAGARI_END;
+    }
+
+    private static boolean isConsonant(char c) {
+        return isDevanagari(c) && CONSONANTS[c - DEVANAGARI_START] != null;
+    }
+
+    private static boolean isVowelSign(char c) {
+        return isDevanagari(c) && VOWEL_SIGNS[c - DEVANAGARI_START] != null;
+    }
+
+    private static boolean isLabial(char c) {
+        return c == 'प' || c == 'फ' || c == 'ब' || c == 'भ' || c == 'म';
+    }
+
+    private static void fill(String[] table, String mapping) {
+        for (String pair : mapping.split(" ")) {
+            int colon = pair.indexOf(':');
+            table[pair.charAt(0) - DEVANAGARI_START] = pair.substring(colon + 1);
+        }
+    }
+}
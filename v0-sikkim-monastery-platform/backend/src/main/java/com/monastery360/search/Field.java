@@ -0,0 +1,25 @@
+package com.monastery360.search;
+
+/**
+ * Indexed fields with their BM25F boosts. The boosts keep the relative
+ * weights of the Python {@code calculate_relevance_score} (title/name 70,
+ * description 25, type 25, monastery 20, year 15), scaled down by ten.
+ */
+enum Field {
+
+    NAME(7.0f, 0.3f),
+    DESCRIPTION(2.5f, 0.75f),
+    LOCATION(2.0f, 0.5f),
+    CATEGORY(2.5f, 0.3f),
+    PERIOD(1.5f, 0.3f);
+
+    static final Field[] VALUES = values();
+
+    final float boost;
+    final float lengthNormalization;
+
+    Field(float boost, float lengthNormalization) {
+        this.boost = boost;
+        this.lengthNormalization = lengthNormalization;
+    }
+}
@@ -0,0 +1,204 @@
+package com.monastery360.search;
+
+import java.util.Arrays;
+
+/**
+ * BK-tree over the index vocabulary using Levenshtein distance. A lookup for
+ * terms within distance {@code k} only descends into children whose edge
+ * distance lies in {@code [d - k, d + k]}, so most of the vocabulary is never
+ * compared against the query.
+ */
+final class FuzzyIndex {
+
+    private final TermDictionary terms;
+    private final int[] childStarts;
+    private final int[] childDistances;
+    private final int[] childNodes;
+
+    private FuzzyIndex(TermDictionary terms, int[] childStarts, int[] childDistances, int[] childNodes) {
+        this.terms = terms;
+        this.childStarts = childStarts;
+        this.childDistances = childDistances;
+        this.childNodes = childNodes;
+    }
+
+    /**
+     * Builds the tree with term ids as node ids and term 0 as the root.
+     */
+    static FuzzyIndex build(TermDictionary terms) {
+        int size = terms.size();
+        int[][] children = new int[size][];
+        int edges = 0;
+        Matches scratch = new Matches();
+        char[] term = new char[16];
+        for (int t = 1; t < size; t++) {
+            int length = terms.length(t);
+            if (term.length < length) {
+                term = new char[length];
+            }
+            for (int i = 0; i < length; i++) {
+                term[i] = terms.charAt(t, i);
+            }
+            int node = 0;
+            while (true) {
+                int d = scratch.distance(terms, node, term, length, Integer.MAX_VALUE);
+                int[] edgesOfNode = children[node];
+                if (edgesOfNode == null) {
+                    edgesOfNode = new int[d + 1];
+                    Arrays.fill(edgesOfNode, -1);
+                    children[node] = edgesOfNode;
+                } else if (edgesOfNode.length <= d) {
+                    int previous = edgesOfNode.length;
+                    edgesOfNode = Arrays.copyOf(edgesOfNode, d + 1);
+                    Arrays.fill(edgesOfNode, previous, d + 1, -1);
+                    children[node] = edgesOfNode;
+                }
+                if (edgesOfNode[d] < 0) {
+                    edgesOfNode[d] = t;
+                    edges++;
+                    break;
+                }
+                node = edgesOfNode[d];
+            }
+        }
+
+        int[] childStarts = new int[size + 1];
+        int[] childDistances = new int[edges];
+        int[] childNodes = new int[edges];
+        int next = 0;
+        for (int node = 0; node < size; node++) {
+            childStarts[node] = next;
+            int[] edgesOfNode = children[node];
+            if (edgesOfNode == null) {
+                continue;
+            }
+            for (int d = 0; d < edgesOfNode.length; d++) {
+                if (edgesOfNode[d] >= 0) {
+                    childDistances[next] = d;
+                    childNodes[next] = edgesOfNode[d];
+                    next++;
+                }
+            }
+        }
+        childStarts[size] = next;
+        return new FuzzyIndex(terms, childStarts, childDistances, childNodes);
+    }
+
+    /**
+     * Collects every term within {@code maxDistance} edits of the query into
+     * {@code matches}, replacing its previous contents.
+     */
+    void search(char[] query, int length, int maxDistance, Matches matches) {
+        matches.count = 0;
+        if (terms.size() == 0) {
+            return;
+        }
+        int[] stack = matches.stack;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int start = childStarts[node];
+            int end = childStarts[node + 1];
+            // Past the largest edge plus the budget, neither the node nor any child can match
+            int cap = (end > start ? childDistances[end - 1] : 0) + maxDistance;
+            int d = matches.distance(terms, node, query, length, cap);
+            if (d <= maxDistance) {
+                matches.add(node, d);
+            }
+            for (int c = start; c < end; c++) {
+                int edge = childDistances[c];
+                if (edge >= d - maxDistance && edge <= d + maxDistance) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                        matches.stack = stack;
+                    }
+                    stack[top++] = childNodes[c];
+                }
+            }
+        }
+    }
+
+    /**
+     * Edit budget for a query term: exact match for short terms, one edit up
+     * to seven characters, two beyond.
+     */
+    static int maxDistance(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 7 ? 1 : 2;
+    }
+
+    /**
+     * Reusable lookup results plus the scratch rows and stack of a search.
+     */
+    static final class Matches {
+
+        private int[] termIds = new int[16];
+        private int[] distances = new int[16];
+        private int count;
+        private int[] stack = new int[64];
+        private int[] previousRow = new int[32];
+        private int[] currentRow = new int[32];
+
+        int count() {
+            return count;
+        }
+
+        int termId(int i) {
+            return termIds[i];
+        }
+
+        int distance(int i) {
+            return distances[i];
+        }
+
+        private void add(int termId, int distance) {
+            if (count == termIds.length) {
+                termIds = Arrays.copyOf(termIds, count * 2);
+                distances = Arrays.copyOf(distances, count * 2);
+            }
+            termIds[count] = termId;
+            distances[count] = distance;
+            count++;
+        }
+
+        /**
+         * Levenshtein distance, or any value above {@code cap} as soon as the
+         * distance is known to exceed it.
+         */
+        private int distance(TermDictionary terms, int termId, char[] query, int queryLength, int cap) {
+            int termLength = terms.length(termId);
+            if (Math.abs(termLength - queryLength) > cap) {
+                return cap + 1;
+            }
+            if (previousRow.length <= queryLength) {
+                previousRow = new int[queryLength + 1];
+                currentRow = new int[queryLength + 1];
+            }
+            int[] previous = previousRow;
+            int[] current = currentRow;
+            for (int j = 0; j <= queryLength; j++) {
+                previous[j] = j;
+            }
+            for (int i = 1; i <= termLength; i++) {
+                char c = terms.charAt(termId, i - 1);
+                current[0] = i;
+                int rowMinimum = i;
+                for (int j = 1; j <= queryLength; j++) {
+                    int substitution = previous[j - 1] + (c == query[j - 1] ? 0 : 1);
+                    current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                    rowMinimum = Math.min(rowMinimum, current[j]);
+                }
+                if (rowMinimum > cap) {
+                    return cap + 1;
+                }
+                int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return previous[queryLength];
+        }
+    }
+}
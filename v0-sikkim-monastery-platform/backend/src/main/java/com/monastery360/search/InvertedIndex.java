@@ -0,0 +1,142 @@
+package com.monastery360.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable inverted index with BM25F scoring. Each posting stores the
+ * document's saturated term weight, computed once at build time, so a query
+ * is a sum of {@code idf * weight} over the postings of its terms.
+ */
+final class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+
+    private final TermDictionary terms;
+    private final int[] postingStarts;
+    private final int[] postingDocs;
+    private final float[] postingWeights;
+    private final float[] idf;
+    private final int docCount;
+
+    private InvertedIndex(TermDictionary terms, int[] postingStarts, int[] postingDocs, float[] postingWeights,
+                          float[] idf, int docCount) {
+        this.terms = terms;
+        this.postingStarts = postingStarts;
+        this.postingDocs = postingDocs;
+        this.postingWeights = postingWeights;
+        this.idf = idf;
+        this.docCount = docCount;
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    TermDictionary terms() {
+        return terms;
+    }
+
+    int termId(char[] buffer, int length) {
+        return terms.find(buffer, length);
+    }
+
+    String term(int termId) {
+        return terms.term(termId);
+    }
+
+    /**
+     * Adds the scores of one query term to the accumulator.
+     */
+    void accumulate(int termId, float queryWeight, ScoreAccumulator scores) {
+        float termIdf = idf[termId] * queryWeight;
+        for (int p = postingStarts[termId], end = postingStarts[termId + 1]; p < end; p++) {
+            scores.add(postingDocs[p], termIdf * postingWeights[p]);
+        }
+    }
+
+    static final class Builder {
+
+        private final Analyzer analyzer = new Analyzer();
+        private final TermDictionary terms = new TermDictionary();
+        private final List<Map<Integer, float[]>> docTerms = new ArrayList<>();
+        private final List<int[]> docFieldLengths = new ArrayList<>();
+
+        /**
+         * Starts a new document and returns its id; subsequent
+         * {@link #add(Field, String)} calls belong to it.
+         */
+        int startDocument() {
+            docTerms.add(new HashMap<>());
+            docFieldLengths.add(new int[Field.VALUES.length]);
+            return docTerms.size() - 1;
+        }
+
+        void add(Field field, String text) {
+            Map<Integer, float[]> frequencies = docTerms.get(docTerms.size() - 1);
+            int[] fieldLengths = docFieldLengths.get(docFieldLengths.size() - 1);
+            analyzer.analyze(text, (buffer, length) -> {
+                int termId = terms.add(buffer, length);
+                frequencies.computeIfAbsent(termId, id -> new float[Field.VALUES.length])[field.ordinal()]++;
+                fieldLengths[field.ordinal()]++;
+            });
+        }
+
+        InvertedIndex build() {
+            int docCount = docTerms.size();
+            int termCount = terms.size();
+            float[] averageLengths = new float[Field.VALUES.length];
+            for (int[] lengths : docFieldLengths) {
+                for (int f = 0; f < lengths.length; f++) {
+                    averageLengths[f] += lengths[f];
+                }
+            }
+            for (int f = 0; f < averageLengths.length; f++) {
+                averageLengths[f] = docCount == 0 ? 0 : averageLengths[f] / docCount;
+            }
+
+            int[] documentFrequencies = new int[termCount];
+            for (Map<Integer, float[]> frequencies : docTerms) {
+                for (Integer termId : frequencies.keySet()) {
+                    documentFrequencies[termId]++;
+                }
+            }
+            int[] postingStarts = new int[termCount + 1];
+            for (int t = 0; t < termCount; t++) {
+                postingStarts[t + 1] = postingStarts[t] + documentFrequencies[t];
+            }
+            int[] postingDocs = new int[postingStarts[termCount]];
+            float[] postingWeights = new float[postingDocs.length];
+            int[] cursors = new int[termCount];
+            System.arraycopy(postingStarts, 0, cursors, 0, termCount);
+
+            for (int doc = 0; doc < docCount; doc++) {
+                int[] lengths = docFieldLengths.get(doc);
+                for (Map.Entry<Integer, float[]> entry : docTerms.get(doc).entrySet()) {
+                    float[] tf = entry.getValue();
+                    float weightedTf = 0;
+                    for (Field field : Field.VALUES) {
+                        int f = field.ordinal();
+                        if (tf[f] == 0) {
+                            continue;
+                        }
+                        float b = field.lengthNormalization;
+                        weightedTf += field.boost * tf[f] / (1 - b + b * lengths[f] / averageLengths[f]);
+                    }
+                    int p = cursors[entry.getKey()]++;
+                    postingDocs[p] = doc;
+                    postingWeights[p] = weightedTf / (K1 + weightedTf);
+                }
+            }
+
+            float[] idf = new float[termCount];
+            for (int t = 0; t < termCount; t++) {
+                float df = documentFrequencies[t];
+                idf[t] = (float) Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            }
+            return new InvertedIndex(terms, postingStarts, postingDocs, postingWeights, idf, docCount);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.monastery360.search;
+
+/**
+ * Reusable per-thread query state: analyzer buffer, score table and heap.
+ */
+final class QueryContext implements TokenSink {
+
+    /**
+     * Query weight of a fuzzy match by edit distance, so a misspelled term
+     * still ranks below the same document matched exactly.
+     */
+    private static final float[] FUZZY_WEIGHTS = {1f, 0.7f, 0.4f};
+
+    private final InvertedIndex index;
+    private final FuzzyIndex fuzzyIndex;
+    private final FuzzyIndex.Matches fuzzyMatches = new FuzzyIndex.Matches();
+    private final Analyzer analyzer = new Analyzer();
+    private final ScoreAccumulator scores;
+    private final TopK topK = new TopK(16);
+    private int[] results = new int[16];
+
+    QueryContext(InvertedIndex index, FuzzyIndex fuzzyIndex) {
+        this.index = index;
+        this.fuzzyIndex = fuzzyIndex;
+        this.scores = new ScoreAccumulator(index.docCount());
+    }
+
+    /**
+     * Scores {@code query} and returns the number of hits written to
+     * {@link #results()}, best first. Only documents accepted by
+     * {@code filter} are ranked.
+     */
+    int execute(String query, int limit, DocFilter filter) {
+        try {
+            analyzer.analyze(query, this);
+            topK.reset(limit);
+            for (int i = 0, n = scores.touchedCount(); i < n; i++) {
+                int doc = scores.touchedDoc(i);
+                if (filter.accept(doc)) {
+                    topK.offer(doc, scores.score(doc));
+                }
+            }
+            if (results.length < limit) {
+                results = new int[limit];
+            }
+            return topK.drainDescending(results);
+        } finally {
+            scores.reset();
+        }
+    }
+
+    int[] results() {
+        return results;
+    }
+
+    @Override
+    public void accept(char[] buffer, int length) {
+        int termId = index.termId(buffer, length);
+        if (termId >= 0) {
+            index.accumulate(termId, 1f, scores);
+            return;
+        }
+        int maxDistance = FuzzyIndex.maxDistance(length);
+        if (maxDistance == 0) {
+            return;
+        }
+        fuzzyIndex.search(buffer, length, maxDistance, fuzzyMatches);
+        for (int i = 0, n = fuzzyMatches.count(); i < n; i++) {
+            index.accumulate(fuzzyMatches.termId(i), FUZZY_WEIGHTS[fuzzyMatches.distance(i)], scores);
+        }
+    }
+
+    interface DocFilter {
+
+        boolean accept(int doc);
+    }
+}
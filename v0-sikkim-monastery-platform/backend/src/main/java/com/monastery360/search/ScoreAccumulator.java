@@ -0,0 +1,43 @@
+package com.monastery360.search;
+
+/**
+ * Per-thread score table sized to the document count. Documents touched by
+ * the current query are tracked so resetting costs O(matches), not O(docs).
+ */
+final class ScoreAccumulator {
+
+    private final float[] scores;
+    private final int[] touched;
+    private int touchedCount;
+
+    ScoreAccumulator(int docCount) {
+        this.scores = new float[docCount];
+        this.touched = new int[docCount];
+    }
+
+    void add(int doc, float score) {
+        if (scores[doc] == 0) {
+            touched[touchedCount++] = doc;
+        }
+        scores[doc] += score;
+    }
+
+    int touchedCount() {
+        return touchedCount;
+    }
+
+    int touchedDoc(int i) {
+        return touched[i];
+    }
+
+    float score(int doc) {
+        return scores[doc];
+    }
+
+    void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            scores[touched[i]] = 0;
+        }
+        touchedCount = 0;
+    }
+}
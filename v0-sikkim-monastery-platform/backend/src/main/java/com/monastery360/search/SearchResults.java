@@ -0,0 +1,42 @@
+package com.monastery360.search;
+
+import com.monastery360.catalog.Archive;
+import com.monastery360.catalog.Festival;
+import com.monastery360.catalog.Monastery;
+
+import java.util.List;
+
+public final class SearchResults {
+
+    private final String query;
+    private final List<Monastery> monasteries;
+    private final List<Festival> festivals;
+    private final List<Archive> archives;
+
+    public SearchResults(String query, List<Monastery> monasteries, List<Festival> festivals, List<Archive> archives) {
+        this.query = query;
+        this.monasteries = monasteries;
+        this.festivals = festivals;
+        this.archives = archives;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public List<Monastery> getMonasteries() {
+        return monasteries;
+    }
+
+    public List<Festival> getFestivals() {
+        return festivals;
+    }
+
+    public List<Archive> getArchives() {
+        return archives;
+    }
+
+    public int getTotalResults() {
+        return monasteries.size() + festivals.size() + archives.size();
+    }
+}
@@ -0,0 +1,142 @@
+package com.monastery360.search;
+
+import com.monastery360.catalog.Archive;
+import com.monastery360.catalog.Catalog;
+import com.monastery360.catalog.EntityType;
+import com.monastery360.catalog.Festival;
+import com.monastery360.catalog.Monastery;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Full-text search over the catalog. The index is built once from the
+ * immutable catalog; queries run against per-thread scratch state. Query
+ * terms missing from the vocabulary fall back to a BK-tree lookup of nearby
+ * spellings.
+ */
+@Component
+public class SearchService {
+
+    public static final int MAX_LIMIT = 50;
+
+    private final Catalog catalog;
+    private final InvertedIndex index;
+    private final EntityType[] docTypes;
+    private final int[] docOrdinals;
+    private final ThreadLocal<QueryContext> contexts;
+
+    public SearchService(Catalog catalog) {
+        this.catalog = catalog;
+        InvertedIndex.Builder builder = new InvertedIndex.Builder();
+        List<EntityType> types = new ArrayList<>();
+        List<Integer> ordinals = new ArrayList<>();
+
+        List<Monastery> monasteries = catalog.monasteries();
+        for (int i = 0; i < monasteries.size(); i++) {
+            Monastery monastery = monasteries.get(i);
+            builder.startDocument();
+            builder.add(Field.NAME, monastery.getName());
+            builder.add(Field.NAME, monastery.getNameNepali());
+            builder.add(Field.DESCRIPTION, monastery.getDescription());
+            builder.add(Field.DESCRIPTION, monastery.getDescriptionNepali());
+            builder.add(Field.LOCATION, monastery.getAddress());
+            builder.add(Field.PERIOD, monastery.getFounded());
+            types.add(EntityType.MONASTERY);
+            ordinals.add(i);
+        }
+        List<Festival> festivals = catalog.festivals();
+        for (int i = 0; i < festivals.size(); i++) {
+            Festival festival = festivals.get(i);
+            builder.startDocument();
+            builder.add(Field.NAME, festival.getName());
+            builder.add(Field.NAME, festival.getNameNepali());
+            builder.add(Field.DESCRIPTION, festival.getDescription());
+            builder.add(Field.DESCRIPTION, festival.getDescriptionNepali());
+            builder.add(Field.LOCATION, festival.getLocation());
+            types.add(EntityType.FESTIVAL);
+            ordinals.add(i);
+        }
+        List<Archive> archives = catalog.archives();
+        for (int i = 0; i < archives.size(); i++) {
+            Archive archive = archives.get(i);
+            builder.startDocument();
+            builder.add(Field.NAME, archive.getTitle());
+            builder.add(Field.NAME, archive.getTitleNepali());
+            builder.add(Field.DESCRIPTION, archive.getDescription());
+            builder.add(Field.DESCRIPTION, archive.getDescriptionNepali());
+            builder.add(Field.LOCATION, archive.getLocation());
+            builder.add(Field.CATEGORY, archive.getCategory());
+            builder.add(Field.PERIOD, archive.getPeriod());
+            types.add(EntityType.ARCHIVE);
+            ordinals.add(i);
+        }
+
+        this.index = builder.build();
+        this.docTypes = types.toArray(new EntityType[0]);
+        this.docOrdinals = new int[ordinals.size()];
+        for (int i = 0; i < docOrdinals.length; i++) {
+            docOrdinals[i] = ordinals.get(i);
+        }
+        FuzzyIndex fuzzyIndex = FuzzyIndex.build(index.terms());
+        this.contexts = ThreadLocal.withInitial(() -> new QueryContext(index, fuzzyIndex));
+    }
+
+    public SearchResults search(String query, int limit) {
+        QueryContext context = contexts.get();
+        int hits = context.execute(query, clamp(limit), doc -> true);
+        int[] docs = context.results();
+        List<Monastery> monasteries = new ArrayList<>();
+        List<Festival> festivals = new ArrayList<>();
+        List<Archive> archives = new ArrayList<>();
+        for (int i = 0; i < hits; i++) {
+            int doc = docs[i];
+            switch (docTypes[doc]) {
+                case MONASTERY:
+                    monasteries.add(catalog.monasteries().get(docOrdinals[doc]));
+                    break;
+                case FESTIVAL:
+                    festivals.add(catalog.festivals().get(docOrdinals[doc]));
+                    break;
+                case ARCHIVE:
+                    archives.add(catalog.archives().get(docOrdinals[doc]));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown entity type " + docTypes[doc]);
+            }
+        }
+        return new SearchResults(query, monasteries, festivals, archives);
+    }
+
+    public List<Monastery> searchMonasteries(String query, int limit) {
+        return search(query, limit, EntityType.MONASTERY, catalog.monasteries());
+    }
+
+    public List<Festival> searchFestivals(String query, int limit) {
+        return search(query, limit, EntityType.FESTIVAL, catalog.festivals());
+    }
+
+    public List<Archive> searchArchives(String query, int limit) {
+        return search(query, limit, EntityType.ARCHIVE, catalog.archives());
+    }
+
+    private <T> List<T> search(String query, int limit, EntityType type, List<T> entities) {
+        QueryContext context = contexts.get();
+        int hits = context.execute(query, clamp(limit), doc -> docTypes[doc] == type);
+        if (hits == 0) {
+            return Collections.emptyList();
+        }
+        int[] docs = context.results();
+        List<T> results = new ArrayList<>(hits);
+        for (int i = 0; i < hits; i++) {
+            results.add(entities.get(docOrdinals[docs[i]]));
+        }
+        return results;
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,51 @@
+package com.monastery360.search;
+
+import com.monastery360.catalog.Archive;
+import com.monastery360.catalog.Catalog;
+import com.monastery360.catalog.Festival;
+import com.monastery360.catalog.Monastery;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Search-as-you-type completions for names, titles and categories in English
+ * and Nepali. A phrase is more popular the more catalog records refer to it:
+ * a monastery named as the location of festivals and archives, or a category
+ * shared by several archives, ranks above a phrase that appears once.
+ */
+@Component
+public class SuggestService {
+
+    public static final int MAX_LIMIT = 10;
+
+    private final SuggestionTrie trie;
+
+    public SuggestService(Catalog catalog) {
+        SuggestionTrie.Builder builder = new SuggestionTrie.Builder(MAX_LIMIT);
+        for (Monastery monastery : catalog.monasteries()) {
+            builder.add(monastery.getName(), 1);
+            builder.add(monastery.getNameNepali(), 1);
+        }
+        for (Festival festival : catalog.festivals()) {
+            builder.add(festival.getName(), 1);
+            builder.add(festival.getNameNepali(), 1);
+        }
+        for (Archive archive : catalog.archives()) {
+            builder.add(archive.getTitle(), 1);
+            builder.add(archive.getTitleNepali(), 1);
+            builder.add(archive.getCategory(), 1);
+        }
+        for (Festival festival : catalog.festivals()) {
+            builder.boost(festival.getLocation(), 1);
+        }
+        for (Archive archive : catalog.archives()) {
+            builder.boost(archive.getLocation(), 1);
+        }
+        this.trie = builder.build();
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return trie.complete(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
@@ -0,0 +1,254 @@
+package com.monastery360.search;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie for typeahead. Nodes are flattened into parallel
+ * arrays in breadth-first order, so each node's children are contiguous and
+ * sorted by label. Every node stores its precomputed top completions, which
+ * makes a lookup a walk of {@code prefix.length()} binary searches with no
+ * scan of the data below the node.
+ */
+final class SuggestionTrie {
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final int[] topSuggestions;
+    private final String[] phrases;
+
+    private SuggestionTrie(char[] labels, int[] firstChild, int[] childCount, int[] topStart, int[] topSuggestions,
+                           String[] phrases) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topSuggestions = topSuggestions;
+        this.phrases = phrases;
+    }
+
+    int nodeCount() {
+        return labels.length;
+    }
+
+    List<String> complete(String prefix, int limit) {
+        CharSequence key = Normalizer.isNormalized(prefix, Normalizer.Form.NFC)
+                ? prefix
+                : Normalizer.normalize(prefix, Normalizer.Form.NFC);
+        int node = 0;
+        boolean pendingSpace = false;
+        for (int i = 0, n = key.length(); i < n; i++) {
+            char c = normalize(key.charAt(i));
+            if (c == ' ') {
+                pendingSpace = node != 0;
+                continue;
+            }
+            if (pendingSpace) {
+                node = child(node, ' ');
+                if (node < 0) {
+                    return Collections.emptyList();
+                }
+                pendingSpace = false;
+            }
+            node = child(node, c);
+            if (node < 0) {
+                return Collections.emptyList();
+            }
+        }
+        if (pendingSpace) {
+            node = child(node, ' ');
+            if (node < 0) {
+                return Collections.emptyList();
+            }
+        }
+        int start = topStart[node];
+        int count = Math.min(limit, topStart[node + 1] - start);
+        List<String> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(phrases[topSuggestions[start + i]]);
+        }
+        return results;
+    }
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midLabel = labels[mid];
+            if (midLabel < label) {
+                low = mid + 1;
+            } else if (midLabel > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static char normalize(char c) {
+        return Character.isWhitespace(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    static final class Builder {
+
+        private final int completionsPerNode;
+        private final Node root = new Node('\0');
+        private final List<String> phrases = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+        private final Map<String, Integer> phraseIds = new TreeMap<>();
+
+        Builder(int completionsPerNode) {
+            this.completionsPerNode = completionsPerNode;
+        }
+
+        /**
+         * Adds a phrase reachable from its start and from the start of each
+         * later word, so "mon" completes "Rumtek Monastery". Adding the same
+         * phrase again raises its weight.
+         */
+        void add(String phrase, int weight) {
+            if (phrase == null || phrase.trim().isEmpty()) {
+                return;
+            }
+            String text = Normalizer.normalize(phrase.trim(), Normalizer.Form.NFC);
+            Integer existing = phraseIds.get(text);
+            if (existing != null) {
+                weights.set(existing, weights.get(existing) + weight);
+                return;
+            }
+            int id = phrases.size();
+            phrases.add(text);
+            weights.add(weight);
+            phraseIds.put(text, id);
+
+            StringBuilder key = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = normalize(text.charAt(i));
+                if (c != ' ' || (key.length() > 0 && key.charAt(key.length() - 1) != ' ')) {
+                    key.append(c);
+                }
+            }
+            for (int start = 0; start < key.length(); start++) {
+                if (start == 0 || key.charAt(start - 1) == ' ') {
+                    insert(key, start, id);
+                }
+            }
+        }
+
+        /**
+         * Raises the weight of a phrase that was already added; unknown
+         * phrases are ignored.
+         */
+        void boost(String phrase, int weight) {
+            if (phrase == null) {
+                return;
+            }
+            Integer id = phraseIds.get(Normalizer.normalize(phrase.trim(), Normalizer.Form.NFC));
+            if (id != null) {
+                weights.set(id, weights.get(id) + weight);
+            }
+        }
+
+        SuggestionTrie build() {
+            String[] phraseArray = phrases.toArray(new String[0]);
+            Comparator<Integer> ranking = (a, b) -> {
+                int byWeight = Integer.compare(weights.get(b), weights.get(a));
+                if (byWeight != 0) {
+                    return byWeight;
+                }
+                int byLength = Integer.compare(phraseArray[a].length(), phraseArray[b].length());
+                return byLength != 0 ? byLength : phraseArray[a].compareTo(phraseArray[b]);
+            };
+            rank(root, ranking);
+
+            List<Node> order = new ArrayList<>();
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                order.add(node);
+                queue.addAll(node.children.values());
+            }
+
+            int count = order.size();
+            char[] labels = new char[count];
+            int[] firstChild = new int[count];
+            int[] childCount = new int[count];
+            int[] topStart = new int[count + 1];
+            int next = 1;
+            int totalTop = 0;
+            for (int i = 0; i < count; i++) {
+                Node node = order.get(i);
+                labels[i] = node.label;
+                firstChild[i] = next;
+                childCount[i] = node.children.size();
+                next += node.children.size();
+                topStart[i] = totalTop;
+                totalTop += node.top.length;
+            }
+            topStart[count] = totalTop;
+            int[] topSuggestions = new int[totalTop];
+            for (int i = 0; i < count; i++) {
+                int[] top = order.get(i).top;
+                System.arraycopy(top, 0, topSuggestions, topStart[i], top.length);
+            }
+            return new SuggestionTrie(labels, firstChild, childCount, topStart, topSuggestions, phraseArray);
+        }
+
+        private void insert(CharSequence key, int start, int id) {
+            Node node = root;
+            for (int i = start; i < key.length(); i++) {
+                char c = key.charAt(i);
+                Node child = node.children.get(c);
+                if (child == null) {
+                    child = new Node(c);
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            if (!node.terminals.contains(id)) {
+                node.terminals.add(id);
+            }
+        }
+
+        private void rank(Node node, Comparator<Integer> ranking) {
+            List<Integer> candidates = new ArrayList<>(node.terminals);
+            for (Node child : node.children.values()) {
+                rank(child, ranking);
+                for (int id : child.top) {
+                    if (!candidates.contains(id)) {
+                        candidates.add(id);
+                    }
+                }
+            }
+            candidates.sort(ranking);
+            int size = Math.min(completionsPerNode, candidates.size());
+            node.top = new int[size];
+            for (int i = 0; i < size; i++) {
+                node.top[i] = candidates.get(i);
+            }
+        }
+    }
+
+    private static final class Node {
+
+        final char label;
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        final List<Integer> terminals = new ArrayList<>(1);
+        int[] top;
+
+        Node(char label) {
+            this.label = label;
+        }
+    }
+}
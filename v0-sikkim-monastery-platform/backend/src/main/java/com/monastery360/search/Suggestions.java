@@ -0,0 +1,22 @@
+package com.monastery360.search;
+
+import java.util.List;
+
+public final class Suggestions {
+
+    private final String prefix;
+    private final List<String> suggestions;
+
+    public Suggestions(String prefix, List<String> suggestions) {
+        this.prefix = prefix;
+        this.suggestions = suggestions;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+}
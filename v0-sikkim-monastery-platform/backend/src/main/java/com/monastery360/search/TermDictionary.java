@@ -0,0 +1,119 @@
+package com.monastery360.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash of terms stored in a single char pool, so terms can be
+ * looked up straight from an analyzer buffer without creating a String.
+ * Mutated only while the index is built; read-only afterwards.
+ */
+final class TermDictionary {
+
+    private char[] pool = new char[1024];
+    private int poolSize;
+    private int[] offsets = new int[256];
+    private int[] lengths = new int[256];
+    private int size;
+    private int[] table = new int[512];
+
+    int size() {
+        return size;
+    }
+
+    int add(char[] buffer, int length) {
+        int hash = hash(buffer, length);
+        int mask = table.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                int id = append(buffer, length);
+                table[slot] = id + 1;
+                if (size * 2 > table.length) {
+                    rehash();
+                }
+                return id;
+            }
+            if (equals(entry - 1, buffer, length)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    int find(char[] buffer, int length) {
+        int mask = table.length - 1;
+        for (int slot = hash(buffer, length) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            if (equals(entry - 1, buffer, length)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    String term(int id) {
+        return new String(pool, offsets[id], lengths[id]);
+    }
+
+    int length(int id) {
+        return lengths[id];
+    }
+
+    char charAt(int id, int index) {
+        return pool[offsets[id] + index];
+    }
+
+    private int append(char[] buffer, int length) {
+        if (poolSize + length > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + length));
+        }
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+            lengths = Arrays.copyOf(lengths, size * 2);
+        }
+        System.arraycopy(buffer, 0, pool, poolSize, length);
+        offsets[size] = poolSize;
+        lengths[size] = length;
+        poolSize += length;
+        return size++;
+    }
+
+    private boolean equals(int id, char[] buffer, int length) {
+        if (lengths[id] != length) {
+            return false;
+        }
+        int offset = offsets[id];
+        for (int i = 0; i < length; i++) {
+            if (pool[offset + i] != buffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        int[] rehashed = new int[table.length * 2];
+        int mask = rehashed.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hash(pool, offsets[id], lengths[id]) & mask;
+            while (rehashed[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            rehashed[slot] = id + 1;
+        }
+        table = rehashed;
+    }
+
+    private static int hash(char[] buffer, int length) {
+        return hash(buffer, 0, length);
+    }
+
+    private static int hash(char[] buffer, int offset, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + buffer[offset + i];
+        }
+        return h ^ (h >>> 16);
+    }
+}
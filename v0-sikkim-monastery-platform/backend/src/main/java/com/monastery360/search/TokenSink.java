@@ -0,0 +1,10 @@
+package com.monastery360.search;
+
+/**
+ * Receives analyzed terms. The buffer is owned by the analyzer and is only
+ * valid for the duration of the call.
+ */
+interface TokenSink {
+
+    void accept(char[] buffer, int length);
+}
@@ -0,0 +1,99 @@
+package com.monastery360.search;
+
+/**
+ * Bounded min-heap keeping the k best-scoring documents. Ties are broken by
+ * document id so results are stable across runs.
+ */
+final class TopK {
+
+    private int[] docs;
+    private float[] scores;
+    private int capacity;
+    private int size;
+
+    TopK(int capacity) {
+        reset(capacity);
+    }
+
+    void reset(int capacity) {
+        if (docs == null || docs.length < capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+        this.capacity = capacity;
+        this.size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void offer(int doc, float score) {
+        if (capacity == 0) {
+            return;
+        }
+        if (size < capacity) {
+            docs[size] = doc;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (worse(docs[0], scores[0], doc, score)) {
+            docs[0] = doc;
+            scores[0] = score;
+            siftDown(0, size);
+        }
+    }
+
+    /**
+     * Empties the heap into {@code out}, best first, and returns the count.
+     */
+    int drainDescending(int[] out) {
+        int count = size;
+        for (int i = count - 1; i >= 0; i--) {
+            out[i] = docs[0];
+            size--;
+            docs[0] = docs[size];
+            scores[0] = scores[size];
+            siftDown(0, size);
+        }
+        return count;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(docs[i], scores[i], docs[parent], scores[parent])) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int n) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= n) {
+                return;
+            }
+            int child = left + 1 < n && worse(docs[left + 1], scores[left + 1], docs[left], scores[left]) ? left + 1 : left;
+            if (!worse(docs[child], scores[child], docs[i], scores[i])) {
+                return;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int doc = docs[a];
+        docs[a] = docs[b];
+        docs[b] = doc;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    private static boolean worse(int docA, float scoreA, int docB, float scoreB) {
+        return scoreA < scoreB || (scoreA == scoreB && docA > docB);
+    }
+}
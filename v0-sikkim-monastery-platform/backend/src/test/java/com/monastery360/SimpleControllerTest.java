@@ -0,0 +1,173 @@
+package com.monastery360;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SimpleControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void pageIsAnArrayOfLimitRecordsWithNextLink() throws Exception {
+        mockMvc.perform(get("/api/archives").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[0].title").isString())
+                .andExpect(header().string(SimpleController.NEXT_CURSOR, "2"))
+                .andExpect(header().string(HttpHeaders.LINK, "</api/archives?limit=2&after=2>; rel=\"next\""));
+    }
+
+    @Test
+    void pageAfterCursorContinuesInIdOrder() throws Exception {
+        mockMvc.perform(get("/api/archives").param("after", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4))
+                .andExpect(header().doesNotExist(SimpleController.NEXT_CURSOR));
+    }
+
+    @Test
+    void projectionKeepsOnlyIdAndRequestedFields() throws Exception {
+        mockMvc.perform(get("/api/monasteries").param("fields", "name").param("lang", "ne").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0]", hasKey("id")))
+                .andExpect(jsonPath("$[0]", hasKey("name")))
+                .andExpect(jsonPath("$[0]", not(hasKey("description"))))
+                .andExpect(jsonPath("$[0]", not(hasKey("nameNepali"))));
+    }
+
+    @Test
+    void languageOnlyViewReturnsEveryRecord() throws Exception {
+        mockMvc.perform(get("/api/festivals").param("lang", "en"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").isString())
+                .andExpect(jsonPath("$[0]", not(hasKey("nameNepali"))));
+    }
+
+    @Test
+    void nextLinkEncodesViewParameters() throws Exception {
+        mockMvc.perform(get("/api/archives").param("limit", "1").param("fields", "title, image"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK,
+                        "</api/archives?limit=1&after=1&fields=title,%20image>; rel=\"next\""));
+    }
+
+    @Test
+    void pageIsGzippedWhenAccepted() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/archives").param("limit", "2")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        byte[] body;
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            body = StreamUtils.copyToByteArray(in);
+        }
+        JsonNode page = new ObjectMapper().readTree(body);
+        assertEquals(2, page.size());
+        assertEquals(1, page.get(0).get("id").asInt());
+
+        mockMvc.perform(get("/api/archives").param("limit", "2").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/api/archives").param("fields", "title&lang=xx"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchRejectsNonPositiveLimit() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", "rumtek").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/monasteries/search").param("q", "rumtek").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/search").param("q", "rumtek").param("limit", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void suggestRejectsNonPositiveLimit() throws Exception {
+        mockMvc.perform(get("/api/suggest").param("prefix", "pem").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/suggest").param("prefix", "pem").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.suggestions", hasSize(1)));
+    }
+
+    @Test
+    void spatialQueriesRejectNonPositiveLimit() throws Exception {
+        mockMvc.perform(get("/api/monasteries/near").param("lat", "27.3").param("lng", "88.6").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/monasteries/bbox").param("minLat", "27").param("minLng", "88")
+                        .param("maxLat", "28").param("maxLng", "89").param("limit", "-5"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/monasteries/near").param("lat", "27.3").param("lng", "88.6")
+                        .param("radiusKm", "100").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void calendarRejectsIdsThatAreNotMonasteries() throws Exception {
+        for (String id : new String[]{"0", "-1", "999"}) {
+            mockMvc.perform(get("/api/festivals").param("monasteryId", id))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/festivals").param("monasteryId", id)
+                            .param("from", "2026-01-01").param("to", "2026-03-31"))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(get("/api/festivals").param("monasteryId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void notModifiedEchoesTheMatchedEtag() throws Exception {
+        String plain = mockMvc.perform(get("/api/monasteries/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String gzip = mockMvc.perform(get("/api/monasteries/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/monasteries/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, plain)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, plain));
+        mockMvc.perform(get("/api/monasteries/1").header(HttpHeaders.IF_NONE_MATCH, gzip))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, gzip));
+    }
+}
@@ -0,0 +1,93 @@
+package com.monastery360.audio;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AudioTracksTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void trackTurnsHotAfterEnoughRequests() throws IOException {
+        AudioGuide guide = guide(1, "one.mp3", 100);
+        AudioTracks tracks = new AudioTracks(directory.toString(), 16, 4, 2);
+        AudioTrack track = tracks.track(guide);
+        assertFalse(track.isHot());
+        assertSame(track, tracks.track(guide));
+        assertTrue(track.isHot());
+        assertArrayEquals(content(100), body(track, 0, 100));
+        assertArrayEquals(Arrays.copyOfRange(content(100), 10, 30), body(track, 10, 20));
+    }
+
+    @Test
+    void leastRecentlyRequestedTrackLosesItsHead() throws IOException {
+        AudioGuide first = guide(1, "one.mp3", 100);
+        AudioGuide second = guide(2, "two.mp3", 100);
+        AudioGuide third = guide(3, "three.mp3", 100);
+        AudioTracks tracks = new AudioTracks(directory.toString(), 16, 2, 1);
+        AudioTrack one = tracks.track(first);
+        AudioTrack two = tracks.track(second);
+        tracks.track(first);
+        AudioTrack three = tracks.track(third);
+        assertTrue(one.isHot());
+        assertFalse(two.isHot());
+        assertTrue(three.isHot());
+
+        // An evicted track is copied again when it is next requested
+        tracks.track(second);
+        assertTrue(two.isHot());
+    }
+
+    @Test
+    void replacedFileIsRemappedAndOldMappingKeepsItsContents() throws IOException {
+        AudioGuide guide = guide(1, "one.mp3", 100);
+        AudioTracks tracks = new AudioTracks(directory.toString(), 16, 4, 1);
+        AudioTrack old = tracks.track(guide);
+
+        Path replacement = directory.resolve("one.mp3.new");
+        Files.write(replacement, new byte[50]);
+        Files.setLastModifiedTime(replacement, FileTime.fromMillis(1_000_000));
+        Files.move(replacement, directory.resolve("one.mp3"), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        AudioTrack current = tracks.track(guide);
+        assertNotSame(old, current);
+        assertTrue(current.isHot());
+        assertArrayEquals(new byte[50], body(current, 0, 50));
+        assertArrayEquals(content(100), body(old, 0, 100));
+    }
+
+    private AudioGuide guide(int id, String fileName, int size) throws IOException {
+        Files.write(directory.resolve(fileName), content(size));
+        return new AudioGuide(id, 1, "en", "Title", "Description", "1:00", "Transcript", fileName);
+    }
+
+    private static byte[] content(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static byte[] body(AudioTrack track, long position, long count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        track.writeTo(out, position, count);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,142 @@
+package com.monastery360.calendar;
+
+import com.monastery360.catalog.Festival;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FestivalSeriesTest {
+
+    @Test
+    void weeklyByDayStartsOnTheFirstMatchingDay() {
+        Recurrence weekly = Recurrence.parse("FREQ=WEEKLY;BYDAY=SA");
+        // 2025-01-01 is a Wednesday
+        LocalDate first = weekly.first(LocalDate.of(2025, 1, 1));
+        assertEquals(LocalDate.of(2025, 1, 4), first);
+        assertEquals(DayOfWeek.SATURDAY, weekly.nth(first, 52).getDayOfWeek());
+        assertEquals(LocalDate.of(2025, 1, 4), weekly.first(LocalDate.of(2025, 1, 4)));
+    }
+
+    @Test
+    void monthlyFromMonthEndClampsWithoutDrifting() {
+        Recurrence monthly = Recurrence.parse("FREQ=MONTHLY");
+        LocalDate first = LocalDate.of(2024, 1, 31);
+        assertEquals(LocalDate.of(2024, 2, 29), monthly.nth(first, 1));
+        assertEquals(LocalDate.of(2024, 3, 31), monthly.nth(first, 2));
+        assertEquals(LocalDate.of(2024, 4, 30), monthly.nth(first, 3));
+        assertEquals(LocalDate.of(2025, 2, 28), monthly.nth(first, 13));
+        assertEquals(LocalDate.of(2028, 2, 29), Recurrence.parse("FREQ=YEARLY").nth(LocalDate.of(2024, 2, 29), 4));
+        assertEquals(LocalDate.of(2025, 2, 28), Recurrence.parse("FREQ=YEARLY").nth(LocalDate.of(2024, 2, 29), 1));
+    }
+
+    @Test
+    void lastIndexOnOrBeforeMatchesStepping() {
+        LocalDate first = LocalDate.of(2024, 1, 31);
+        for (String rule : Arrays.asList("FREQ=WEEKLY", "FREQ=MONTHLY", "FREQ=YEARLY", "RSCALE=TIBETAN;FREQ=YEARLY")) {
+            Recurrence recurrence = Recurrence.parse(rule);
+            long expected = -1;
+            for (LocalDate date = first.minusDays(40); date.isBefore(first.plusYears(30)); date = date.plusDays(1)) {
+                while (!recurrence.nth(first, expected + 1).isAfter(date)) {
+                    expected++;
+                }
+                assertEquals(expected, recurrence.lastIndexOnOrBefore(first, date), rule + " at " + date);
+            }
+        }
+    }
+
+    @Test
+    void occurrencesMatchNaiveExpansion() {
+        Random random = new Random(11);
+        String[] rules = {null, "FREQ=WEEKLY", "FREQ=WEEKLY;BYDAY=MO", "FREQ=MONTHLY", "FREQ=YEARLY",
+                "RSCALE=TIBETAN;FREQ=YEARLY"};
+        String[] durations = {"1 day", "3 days", "2 weeks", "2 hours", "45 days"};
+        LocalDate[] anchors = {LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 29), LocalDate.of(2025, 3, 30)};
+        for (String rule : rules) {
+            for (String duration : durations) {
+                for (LocalDate anchor : anchors) {
+                    FestivalSeries series = new FestivalSeries(festival(anchor, duration, rule), 1);
+                    for (int q = 0; q < 40; q++) {
+                        LocalDate from = anchor.plusDays(random.nextInt(900) - 100);
+                        LocalDate to = from.plusDays(1 + random.nextInt(120));
+                        assertEquals(naive(rule, anchor, duration, from, to), expand(series, from, to),
+                                rule + " " + duration + " from " + anchor + " in [" + from + ", " + to + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void occurrenceStraddlingTheWindowStartIsIncluded() {
+        FestivalSeries series = new FestivalSeries(festival(LocalDate.of(2025, 1, 30), "3 days", "FREQ=MONTHLY"), 1);
+        List<String> occurrences = expand(series, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1));
+        assertEquals(Arrays.asList("2025-01-30..2025-02-01", "2025-02-28..2025-03-02"), occurrences);
+    }
+
+    @Test
+    void unsupportedRulesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("FREQ=DAILY"));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("FREQ=MONTHLY;BYDAY=MO"));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("RSCALE=TIBETAN;FREQ=MONTHLY"));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.parse("BYDAY=MO"));
+        assertNull(Recurrence.parse(" "));
+    }
+
+    @Test
+    void durationsAreWholeDays() {
+        assertEquals(1, FestivalSeries.parseLengthDays(null));
+        assertEquals(1, FestivalSeries.parseLengthDays("2 hours"));
+        assertEquals(3, FestivalSeries.parseLengthDays("3 Days"));
+        assertEquals(14, FestivalSeries.parseLengthDays("2 weeks"));
+        assertEquals(1, FestivalSeries.parseLengthDays("0 days"));
+        assertEquals(1, FestivalSeries.parseLengthDays("all day"));
+    }
+
+    private static List<String> expand(FestivalSeries series, LocalDate from, LocalDate to) {
+        List<String> occurrences = new ArrayList<>();
+        series.occurrences(from, to, (s, start, end) -> occurrences.add(start + ".." + end));
+        return occurrences;
+    }
+
+    /**
+     * Every occurrence from the first one on, kept if any of its days falls
+     * in the window.
+     */
+    private static List<String> naive(String rule, LocalDate anchor, String duration, LocalDate from,
+                                      LocalDate to) {
+        Recurrence recurrence = Recurrence.parse(rule);
+        int length = FestivalSeries.parseLengthDays(duration);
+        LocalDate first = recurrence == null ? anchor : recurrence.first(anchor);
+        List<String> occurrences = new ArrayList<>();
+        for (long n = 0; ; n++) {
+            LocalDate start = recurrence == null ? first : recurrence.nth(first, n);
+            if (!start.isBefore(to)) {
+                break;
+            }
+            LocalDate end = start.plusDays(length - 1);
+            for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+                if (!day.isBefore(from) && day.isBefore(to)) {
+                    occurrences.add(start + ".." + end);
+                    break;
+                }
+            }
+            if (recurrence == null) {
+                break;
+            }
+        }
+        return occurrences;
+    }
+
+    private static Festival festival(LocalDate date, String duration, String recurrence) {
+        return new Festival(1, "Losar", "ल्होसार", date.toString(), "", "", "Rumtek", duration, "", "", recurrence);
+    }
+}
@@ -0,0 +1,80 @@
+package com.monastery360.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+
+    private static final IntervalTree.IntervalOf<long[]> INTERVAL = new IntervalTree.IntervalOf<long[]>() {
+        @Override
+        public long start(long[] item) {
+            return item[0];
+        }
+
+        @Override
+        public long end(long[] item) {
+            return item[1];
+        }
+    };
+
+    @Test
+    void overlappingMatchesLinearScan() {
+        Random random = new Random(7);
+        for (int size : new int[]{1, 2, 3, 17, 200}) {
+            List<long[]> intervals = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                long start = random.nextInt(400);
+                // Some unbounded, like recurring series
+                long end = random.nextInt(10) == 0 ? Long.MAX_VALUE : start + 1 + random.nextInt(30);
+                intervals.add(new long[]{start, end, i});
+            }
+            IntervalTree<long[]> tree = new IntervalTree<>(intervals, INTERVAL);
+            for (int q = 0; q < 500; q++) {
+                long from = random.nextInt(450) - 20;
+                long to = from + 1 + random.nextInt(60);
+                assertEquals(linearScan(intervals, from, to), overlapping(tree, from, to), "[" + from + ", " + to + ")");
+            }
+        }
+    }
+
+    @Test
+    void endsAreExclusive() {
+        List<long[]> intervals = new ArrayList<>();
+        intervals.add(new long[]{10, 20, 0});
+        IntervalTree<long[]> tree = new IntervalTree<>(intervals, INTERVAL);
+        assertTrue(overlapping(tree, 20, 30).isEmpty());
+        assertTrue(overlapping(tree, 0, 10).isEmpty());
+        assertEquals(Collections.singletonList(0L), overlapping(tree, 19, 20));
+        assertEquals(Collections.singletonList(0L), overlapping(tree, 0, 11));
+    }
+
+    @Test
+    void emptyTreeVisitsNothing() {
+        IntervalTree<long[]> tree = new IntervalTree<>(new ArrayList<>(), INTERVAL);
+        assertTrue(overlapping(tree, Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+    }
+
+    private static List<Long> overlapping(IntervalTree<long[]> tree, long from, long to) {
+        List<Long> ids = new ArrayList<>();
+        tree.overlapping(from, to, item -> ids.add(item[2]));
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private static List<Long> linearScan(List<long[]> intervals, long from, long to) {
+        List<Long> ids = new ArrayList<>();
+        for (long[] interval : intervals) {
+            if (interval[0] < to && interval[1] > from) {
+                ids.add(interval[2]);
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,74 @@
+package com.monastery360.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdIndexTest {
+
+    @Test
+    void matchesHashMapAcrossSizes() {
+        Random random = new Random(3);
+        // Sizes either side of each power of two, where the table doubles
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 7, 8, 9, 15, 16, 17, 63, 64, 65, 1000, 4096, 4097}) {
+            Set<Integer> unique = new LinkedHashSet<>();
+            while (unique.size() < size) {
+                unique.add(random.nextInt(4) == 0 ? random.nextInt() : random.nextInt(size * 2 + 1));
+            }
+            assertMatches(unique, random);
+        }
+    }
+
+    @Test
+    void collidingIdsStayDistinct() {
+        // Ids that all hash to the same slot of a 64-slot table, plus extremes
+        Set<Integer> unique = new LinkedHashSet<>();
+        for (int id = -1_000_000; unique.size() < 20; id += 7) {
+            if ((id * 0x9E3779B9) >>> 26 == 0) {
+                unique.add(id);
+            }
+        }
+        unique.add(0);
+        unique.add(-1);
+        unique.add(Integer.MAX_VALUE);
+        unique.add(Integer.MIN_VALUE);
+        assertMatches(unique, new Random(5));
+
+        Set<Integer> sequential = new LinkedHashSet<>();
+        for (int id = 0; id < 30; id++) {
+            sequential.add(id << 26);
+        }
+        assertMatches(sequential, new Random(6));
+    }
+
+    @Test
+    void duplicateIdsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new IdIndex(new int[]{4, 8, 4}));
+        assertThrows(IllegalArgumentException.class, () -> new IdIndex(new int[]{0, 0}));
+    }
+
+    private static void assertMatches(Set<Integer> unique, Random random) {
+        int[] ids = new int[unique.size()];
+        Map<Integer, Integer> expected = new HashMap<>();
+        int position = 0;
+        for (int id : unique) {
+            ids[position] = id;
+            expected.put(id, position++);
+        }
+        IdIndex index = new IdIndex(ids);
+        for (int id : ids) {
+            assertEquals((int) expected.get(id), index.indexOf(id), "id " + id);
+        }
+        for (int i = 0; i < 1000; i++) {
+            int probe = random.nextBoolean() ? random.nextInt() : random.nextInt(ids.length * 3 + 1) - ids.length;
+            assertEquals(expected.getOrDefault(probe, -1).intValue(), index.indexOf(probe), "probe " + probe);
+        }
+    }
+}
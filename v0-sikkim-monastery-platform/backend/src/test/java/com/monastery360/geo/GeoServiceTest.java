@@ -0,0 +1,141 @@
+package com.monastery360.geo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monastery360.catalog.Catalog;
+import com.monastery360.catalog.Monastery;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoServiceTest {
+
+    private static final int POINTS = 2000;
+
+    private final List<Monastery> monasteries = new ArrayList<>();
+    private final GeoService geo;
+
+    GeoServiceTest() {
+        Random random = new Random(42);
+        for (int i = 0; i < POINTS; i++) {
+            double lat;
+            double lng;
+            if (i % 4 == 0) {
+                // Crowd some points around the antimeridian and in Sikkim
+                lat = random.nextDouble() * 20 - 10;
+                lng = random.nextBoolean() ? 175 + random.nextDouble() * 5 : -180 + random.nextDouble() * 5;
+            } else if (i % 4 == 1) {
+                lat = 27 + random.nextDouble() * 1.5;
+                lng = 88 + random.nextDouble() * 1.2;
+            } else {
+                lat = random.nextDouble() * 180 - 90;
+                lng = random.nextDouble() * 360 - 180;
+            }
+            monasteries.add(new Monastery(i + 1, "Monastery " + i, "", "", "", lat, lng, "", "", "",
+                    Collections.emptyList(), ""));
+        }
+        // Duplicates of one location, so ties must come back in catalog order
+        for (int i = 0; i < 5; i++) {
+            monasteries.add(new Monastery(POINTS + i + 1, "Twin " + i, "", "", "", 27.33, 88.61, "", "", "",
+                    Collections.emptyList(), ""));
+        }
+        geo = new GeoService(new Catalog(new ObjectMapper(), monasteries, Collections.emptyList(),
+                Collections.emptyList()));
+    }
+
+    @Test
+    void nearMatchesBruteForce() {
+        Random random = new Random(7);
+        double[][] queries = {
+                {27.33, 88.61, 50, 10},
+                {27.33, 88.61, 0.001, 3},
+                {27.5, 88.5, 200, 500},
+                {0, 179.9, 800, 25},
+                {0, -179.9, 800, 25},
+                {89.9, 0, 500, 50},
+                {-89.9, 45, 3000, 50},
+        };
+        for (double[] q : queries) {
+            assertNear(q[0], q[1], q[2], (int) q[3]);
+        }
+        for (int i = 0; i < 200; i++) {
+            assertNear(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180,
+                    random.nextDouble() * 3000, 1 + random.nextInt(40));
+        }
+    }
+
+    @Test
+    void boundsMatchBruteForce() {
+        assertBounds(27, 88, 28, 89, 500);
+        assertBounds(27, 88, 28, 89, 7);
+        assertBounds(-10, 170, 10, -170, 100);
+        assertBounds(-10, 179, 10, -179, 3);
+        assertBounds(-90, -180, 90, 180, 20);
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            double minLat = random.nextDouble() * 180 - 90;
+            double maxLat = minLat + random.nextDouble() * (90 - minLat);
+            assertBounds(minLat, random.nextDouble() * 360 - 180, maxLat, random.nextDouble() * 360 - 180,
+                    1 + random.nextInt(60));
+        }
+    }
+
+    @Test
+    void emptyBoxAndEmptyCatalogFindNothing() {
+        assertTrue(geo.withinBounds(-50, 20, -49.9999, 20.0001, 10).isEmpty());
+        GeoService empty = new GeoService(new Catalog(new ObjectMapper(), Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList()));
+        assertTrue(empty.near(27.33, 88.61, 100, 10).isEmpty());
+        assertTrue(empty.withinBounds(27, 88, 28, 89, 10).isEmpty());
+    }
+
+    private void assertNear(double lat, double lng, double radiusKm, int limit) {
+        List<double[]> expected = new ArrayList<>();
+        for (int i = 0; i < monasteries.size(); i++) {
+            Monastery m = monasteries.get(i);
+            double distance = GeoMath.haversineKm(lat, lng, m.getLatitude(), m.getLongitude());
+            if (distance <= radiusKm) {
+                expected.add(new double[]{distance, i});
+            }
+        }
+        assertSameResults(expected, geo.near(lat, lng, radiusKm, limit), limit,
+                "near " + lat + "," + lng + " r=" + radiusKm);
+    }
+
+    private void assertBounds(double minLat, double minLng, double maxLat, double maxLng, int limit) {
+        double width = maxLng >= minLng ? maxLng - minLng : maxLng + 360 - minLng;
+        double centerLng = minLng + width / 2;
+        if (centerLng > 180) {
+            centerLng -= 360;
+        }
+        double centerLat = (minLat + maxLat) / 2;
+        List<double[]> expected = new ArrayList<>();
+        for (int i = 0; i < monasteries.size(); i++) {
+            Monastery m = monasteries.get(i);
+            double mLng = m.getLongitude();
+            boolean inLng = maxLng >= minLng ? mLng >= minLng && mLng <= maxLng : mLng >= minLng || mLng <= maxLng;
+            if (m.getLatitude() >= minLat && m.getLatitude() <= maxLat && inLng) {
+                expected.add(new double[]{GeoMath.haversineKm(centerLat, centerLng, m.getLatitude(), mLng), i});
+            }
+        }
+        assertSameResults(expected, geo.withinBounds(minLat, minLng, maxLat, maxLng, limit), limit,
+                "bbox " + minLat + "," + minLng + " " + maxLat + "," + maxLng);
+    }
+
+    private void assertSameResults(List<double[]> expected, List<NearbyMonastery> actual, int limit, String query) {
+        expected.sort(Comparator.<double[]>comparingDouble(e -> e[0]).thenComparingDouble(e -> e[1]));
+        int size = Math.min(limit, expected.size());
+        assertEquals(size, actual.size(), query);
+        for (int i = 0; i < size; i++) {
+            Monastery m = monasteries.get((int) expected.get(i)[1]);
+            assertEquals(m.getId(), actual.get(i).getMonastery().getId(), query + " result " + i);
+            assertEquals(Math.round(expected.get(i)[0] * 1000) / 1000.0, actual.get(i).getDistanceKm(), query);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.monastery360.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KdTreeTest {
+
+    @Test
+    void rangeMatchesBruteForce() {
+        Random random = new Random(5);
+        for (int size : new int[]{1, 2, 3, 10, 100, 1000}) {
+            double[] latitudes = new double[size];
+            double[] longitudes = new double[size];
+            for (int i = 0; i < size; i++) {
+                // Coarse coordinates, so many points share a split value
+                latitudes[i] = random.nextInt(180) - 90;
+                longitudes[i] = random.nextInt(360) - 180;
+            }
+            KdTree tree = new KdTree(latitudes.clone(), longitudes.clone());
+            assertEquals(size, tree.size());
+            for (int q = 0; q < 200; q++) {
+                double minLat = random.nextInt(180) - 90;
+                double maxLat = minLat + random.nextInt(60);
+                double minLng = random.nextInt(360) - 180;
+                double maxLng = Math.min(180, minLng + random.nextInt(120));
+                assertEquals(bruteForce(latitudes, longitudes, minLat, minLng, maxLat, maxLng),
+                        range(tree, minLat, minLng, maxLat, maxLng));
+            }
+            assertEquals(bruteForce(latitudes, longitudes, -90, -180, 90, 180), range(tree, -90, -180, 90, 180));
+        }
+    }
+
+    @Test
+    void boundsAreInclusive() {
+        KdTree tree = new KdTree(new double[]{27, 27, 28}, new double[]{88, 89, 88});
+        assertEquals(list(0, 1, 2), range(tree, 27, 88, 28, 89));
+        assertEquals(list(0), range(tree, 27, 88, 27, 88));
+        assertEquals(list(), range(tree, 27.5, 88.5, 27.6, 88.6));
+    }
+
+    @Test
+    void identicalPointsAreAllReported() {
+        double[] latitudes = new double[50];
+        double[] longitudes = new double[50];
+        Arrays.fill(latitudes, 27.33);
+        Arrays.fill(longitudes, 88.61);
+        KdTree tree = new KdTree(latitudes, longitudes);
+        assertEquals(50, range(tree, 27.33, 88.61, 27.33, 88.61).size());
+        assertTrue(range(tree, 27.34, 88.61, 28, 89).isEmpty());
+    }
+
+    @Test
+    void emptyTreeReportsNothing() {
+        KdTree tree = new KdTree(new double[0], new double[0]);
+        assertEquals(0, tree.size());
+        assertTrue(range(tree, -90, -180, 90, 180).isEmpty());
+    }
+
+    private static List<Integer> range(KdTree tree, double minLat, double minLng, double maxLat, double maxLng) {
+        List<Integer> points = new ArrayList<>();
+        tree.range(minLat, minLng, maxLat, maxLng, points::add);
+        Collections.sort(points);
+        return points;
+    }
+
+    private static List<Integer> bruteForce(double[] latitudes, double[] longitudes,
+                                            double minLat, double minLng, double maxLat, double maxLng) {
+        List<Integer> points = new ArrayList<>();
+        for (int i = 0; i < latitudes.length; i++) {
+            if (latitudes[i] >= minLat && latitudes[i] <= maxLat && longitudes[i] >= minLng && longitudes[i] <= maxLng) {
+                points.add(i);
+            }
+        }
+        return points;
+    }
+
+    private static List<Integer> list(Integer... points) {
+        List<Integer> list = new ArrayList<>();
+        Collections.addAll(list, points);
+        return list;
+    }
+}
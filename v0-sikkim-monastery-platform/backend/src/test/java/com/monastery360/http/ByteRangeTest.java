@@ -0,0 +1,65 @@
+package com.monastery360.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ByteRangeTest {
+
+    @Test
+    void closedRangeIsClampedToTheRepresentation() {
+        ByteRange range = ByteRange.parse("bytes=0-9", 100);
+        assertRange(0, 9, range);
+        assertEquals(10, range.length());
+        assertEquals("bytes 0-9/100", range.contentRange(100));
+        assertRange(95, 99, ByteRange.parse("bytes=95-200", 100));
+        assertRange(99, 99, ByteRange.parse("bytes=99-99", 100));
+    }
+
+    @Test
+    void openEndedRangeRunsToTheLastByte() {
+        assertRange(50, 99, ByteRange.parse("bytes=50-", 100));
+        assertRange(0, 0, ByteRange.parse("bytes=0-", 1));
+    }
+
+    @Test
+    void suffixRangeCountsFromTheEnd() {
+        assertRange(90, 99, ByteRange.parse("bytes=-10", 100));
+        assertRange(0, 99, ByteRange.parse("bytes=-500", 100));
+        assertRange(0, 0, ByteRange.parse("bytes=-1", 1));
+    }
+
+    @Test
+    void rangesOutsideTheRepresentationAreUnsatisfiable() {
+        assertSame(ByteRange.NOT_SATISFIABLE, ByteRange.parse("bytes=100-", 100));
+        assertSame(ByteRange.NOT_SATISFIABLE, ByteRange.parse("bytes=100-200", 100));
+        assertSame(ByteRange.NOT_SATISFIABLE, ByteRange.parse("bytes=0-", 0));
+        assertSame(ByteRange.NOT_SATISFIABLE, ByteRange.parse("bytes=-0", 100));
+        assertSame(ByteRange.NOT_SATISFIABLE, ByteRange.parse("bytes=-5", 0));
+    }
+
+    @Test
+    void multipleRangesFallBackToTheWholeRepresentation() {
+        assertNull(ByteRange.parse("bytes=0-1,5-6", 100));
+        assertNull(ByteRange.parse("bytes=-10, 0-5", 100));
+    }
+
+    @Test
+    void invalidHeadersAreIgnored() {
+        assertNull(ByteRange.parse(null, 100));
+        assertNull(ByteRange.parse("items=0-9", 100));
+        assertNull(ByteRange.parse("bytes=", 100));
+        assertNull(ByteRange.parse("bytes=5", 100));
+        assertNull(ByteRange.parse("bytes=9-5", 100));
+        assertNull(ByteRange.parse("bytes=a-b", 100));
+        assertNull(ByteRange.parse("bytes=--1", 100));
+        assertNull(ByteRange.parse("bytes=-", 100));
+    }
+
+    private static void assertRange(long first, long last, ByteRange range) {
+        assertEquals(first, range.first(), "first");
+        assertEquals(last, range.last(), "last");
+    }
+}
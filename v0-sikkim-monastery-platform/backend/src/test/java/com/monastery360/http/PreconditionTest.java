@@ -0,0 +1,142 @@
+package com.monastery360.http;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PreconditionTest {
+
+    private static final String ETAG = "\"v1\"";
+    /** Half a second past a whole second, as file timestamps usually are. */
+    private static final long LAST_MODIFIED = 1_700_000_000_500L;
+    private static final long SAME_SECOND = 1_700_000_000_000L;
+    private static final long EARLIER = SAME_SECOND - 60_000;
+    private static final long LATER = SAME_SECOND + 60_000;
+
+    @Test
+    void unconditionalRequestProceeds() {
+        assertEquals(Precondition.PROCEED, evaluate(request()));
+    }
+
+    @Test
+    void ifNoneMatchTakesPrecedenceOverIfModifiedSince() {
+        MockHttpServletRequest matching = request();
+        matching.addHeader("If-None-Match", ETAG);
+        matching.addHeader("If-Modified-Since", EARLIER);
+        assertEquals(Precondition.NOT_MODIFIED, evaluate(matching));
+
+        MockHttpServletRequest stale = request();
+        stale.addHeader("If-None-Match", "\"v0\"");
+        stale.addHeader("If-Modified-Since", LATER);
+        assertEquals(Precondition.PROCEED, evaluate(stale));
+    }
+
+    @Test
+    void ifNoneMatchComparesWeakly() {
+        MockHttpServletRequest request = request();
+        request.addHeader("If-None-Match", "\"v0\", W/" + ETAG);
+        assertEquals(Precondition.NOT_MODIFIED, evaluate(request));
+
+        MockHttpServletRequest any = request();
+        any.addHeader("If-None-Match", "*");
+        assertEquals(Precondition.NOT_MODIFIED, evaluate(any));
+    }
+
+    @Test
+    void ifModifiedSinceComparesWholeSeconds() {
+        MockHttpServletRequest sameSecond = request();
+        sameSecond.addHeader("If-Modified-Since", SAME_SECOND);
+        assertEquals(Precondition.NOT_MODIFIED, evaluate(sameSecond));
+
+        MockHttpServletRequest earlier = request();
+        earlier.addHeader("If-Modified-Since", EARLIER);
+        assertEquals(Precondition.PROCEED, evaluate(earlier));
+    }
+
+    @Test
+    void ifMatchTakesPrecedenceOverIfUnmodifiedSince() {
+        MockHttpServletRequest matching = request();
+        matching.addHeader("If-Match", ETAG);
+        matching.addHeader("If-Unmodified-Since", EARLIER);
+        assertEquals(Precondition.PROCEED, evaluate(matching));
+
+        MockHttpServletRequest other = request();
+        other.addHeader("If-Match", "\"v0\"");
+        other.addHeader("If-Unmodified-Since", LATER);
+        assertEquals(Precondition.FAILED, evaluate(other));
+
+        MockHttpServletRequest weak = request();
+        weak.addHeader("If-Match", "W/" + ETAG);
+        assertEquals(Precondition.FAILED, evaluate(weak));
+    }
+
+    @Test
+    void ifUnmodifiedSinceFailsOnlyForLaterChanges() {
+        MockHttpServletRequest earlier = request();
+        earlier.addHeader("If-Unmodified-Since", EARLIER);
+        assertEquals(Precondition.FAILED, evaluate(earlier));
+
+        MockHttpServletRequest sameSecond = request();
+        sameSecond.addHeader("If-Unmodified-Since", SAME_SECOND);
+        assertEquals(Precondition.PROCEED, evaluate(sameSecond));
+    }
+
+    @Test
+    void failedPreconditionWinsOverNotModified() {
+        MockHttpServletRequest request = request();
+        request.addHeader("If-Match", "\"v0\"");
+        request.addHeader("If-None-Match", ETAG);
+        assertEquals(Precondition.FAILED, evaluate(request));
+    }
+
+    @Test
+    void datesAreIgnoredWhenUnknownOrUnparseable() {
+        MockHttpServletRequest request = request();
+        request.addHeader("If-Unmodified-Since", EARLIER);
+        request.addHeader("If-Modified-Since", LATER);
+        assertEquals(Precondition.PROCEED, Precondition.evaluate(request, ETAG, -1));
+
+        MockHttpServletRequest garbage = request();
+        garbage.addHeader("If-Modified-Since", "yesterday");
+        assertEquals(Precondition.PROCEED, evaluate(garbage));
+    }
+
+    @Test
+    void rangeAppliesOnlyToTheNamedRepresentation() {
+        assertTrue(rangeApplies(request()));
+        assertTrue(rangeApplies(ifRange(ETAG)));
+        assertFalse(rangeApplies(ifRange("\"v0\"")));
+        assertFalse(rangeApplies(ifRange("W/" + ETAG)));
+        assertFalse(rangeApplies(ifRange("yesterday")));
+
+        MockHttpServletRequest sameSecond = request();
+        sameSecond.addHeader("If-Range", SAME_SECOND);
+        assertTrue(rangeApplies(sameSecond));
+        assertFalse(Precondition.rangeApplies(sameSecond, ETAG, -1));
+
+        MockHttpServletRequest later = request();
+        later.addHeader("If-Range", LATER);
+        assertFalse(rangeApplies(later));
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/media/a.jpg");
+    }
+
+    private static MockHttpServletRequest ifRange(String value) {
+        MockHttpServletRequest request = request();
+        request.addHeader("If-Range", value);
+        return request;
+    }
+
+    private static Precondition evaluate(MockHttpServletRequest request) {
+        return Precondition.evaluate(request, ETAG, LAST_MODIFIED);
+    }
+
+    private static boolean rangeApplies(MockHttpServletRequest request) {
+        return Precondition.rangeApplies(request, ETAG, LAST_MODIFIED);
+    }
+}
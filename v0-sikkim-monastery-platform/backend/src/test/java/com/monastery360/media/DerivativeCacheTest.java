@@ -0,0 +1,93 @@
+package com.monastery360.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class DerivativeCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void evictedEntryStaysReadableWhileOpen() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            DerivativeCache cache = new DerivativeCache(directory, 4, executor);
+            try (DerivativeCache.Entry first = cache.open("a.jpg", bytes(1, 2, 3))) {
+                try (DerivativeCache.Entry second = cache.open("b.jpg", bytes(4, 5, 6))) {
+                    assertFalse(Files.exists(directory.resolve("a.jpg")));
+                    assertEquals(3, second.size);
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(3);
+                assertEquals(3, first.channel.read(buffer, 0));
+                assertArrayEquals(new byte[]{1, 2, 3}, buffer.array());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void entryIsGeneratedOnceAndThenServedFromDisk() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            DerivativeCache cache = new DerivativeCache(directory, 1024, executor);
+            AtomicInteger generations = new AtomicInteger();
+            DerivativeCache.Generator generator = target -> {
+                generations.incrementAndGet();
+                Files.write(target, new byte[]{7});
+                return true;
+            };
+            cache.open("a.jpg", generator).close();
+            try (DerivativeCache.Entry entry = cache.open("a.jpg", generator)) {
+                assertEquals(1, entry.size);
+            }
+            assertEquals(1, generations.get());
+            assertNull(cache.open("b.avif", target -> false));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void rejectedGenerationFailsInsteadOfHanging() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        DerivativeCache cache = new DerivativeCache(directory, 1024, executor);
+        executor.shutdown();
+        DerivativeCache.Generator generator = target -> {
+            Files.write(target, new byte[]{1});
+            return true;
+        };
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThrows(RejectedExecutionException.class, () -> cache.open("a.jpg", generator));
+            assertThrows(RejectedExecutionException.class, () -> cache.open("a.jpg", generator));
+        });
+    }
+
+    private static DerivativeCache.Generator bytes(int... values) {
+        return target -> {
+            byte[] content = new byte[values.length];
+            for (int i = 0; i < values.length; i++) {
+                content[i] = (byte) values[i];
+            }
+            Files.write(target, content);
+            return true;
+        };
+    }
+}
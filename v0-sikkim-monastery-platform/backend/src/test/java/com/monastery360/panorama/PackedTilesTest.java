@@ -0,0 +1,142 @@
+package com.monastery360.panorama;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PackedTilesTest {
+
+    private static final int TILE_SIZE = 64;
+
+    @TempDir
+    Path directory;
+
+    private Path pack;
+
+    @BeforeEach
+    void buildPack() throws IOException {
+        BufferedImage image = new BufferedImage(512, 256, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, (x << 16) | (y << 8) | ((x + y) & 0xff));
+            }
+        }
+        Path source = directory.resolve("source.png");
+        ImageIO.write(image, "png", source.toFile());
+        pack = directory.resolve("source.tiles");
+        TilePyramidBuilder.build(source, 1234L, pack, TILE_SIZE);
+    }
+
+    @Test
+    void roundTripsTheBuiltPyramid() throws IOException {
+        PackedTiles tiles = PackedTiles.open(pack);
+        assertEquals(1234L, tiles.sourceLastModified());
+        assertEquals(TILE_SIZE, tiles.tileSize());
+        assertEquals(2, tiles.levels());
+        assertEquals(64, tiles.faceSize(0));
+        assertEquals(128, tiles.faceSize(1));
+        assertEquals(1, tiles.tilesPerSide(0));
+        assertEquals(2, tiles.tilesPerSide(1));
+
+        int previous = -1;
+        for (int level = 0; level < tiles.levels(); level++) {
+            for (CubeFace face : CubeFace.VALUES) {
+                for (int y = 0; y < tiles.tilesPerSide(level); y++) {
+                    for (int x = 0; x < tiles.tilesPerSide(level); x++) {
+                        int tile = tiles.tileIndex(level, face, x, y);
+                        assertEquals(previous + 1, tile);
+                        previous = tile;
+                        byte[] jpeg = tileBytes(tiles, tile);
+                        assertEquals((byte) 0xff, jpeg[0]);
+                        assertEquals((byte) 0xd8, jpeg[1]);
+                        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(jpeg));
+                        assertEquals(TILE_SIZE, decoded.getWidth());
+                    }
+                }
+            }
+        }
+        assertEquals(-1, tiles.tileIndex(2, CubeFace.FRONT, 0, 0));
+        assertEquals(-1, tiles.tileIndex(1, CubeFace.FRONT, 2, 0));
+    }
+
+    @Test
+    void writesARangeOfATile() throws IOException {
+        PackedTiles tiles = PackedTiles.open(pack);
+        int tile = tiles.tileIndex(1, CubeFace.UP, 1, 1);
+        byte[] whole = tileBytes(tiles, tile);
+        ByteArrayOutputStream part = new ByteArrayOutputStream();
+        tiles.writeTile(tile, part, 10, 20);
+        assertArrayEquals(Arrays.copyOfRange(whole, 10, 30), part.toByteArray());
+    }
+
+    @Test
+    void rejectsTruncatedPacks() throws IOException {
+        byte[] bytes = Files.readAllBytes(pack);
+        for (int length : new int[]{0, 4, 20, 40, 100}) {
+            Path truncated = directory.resolve("truncated-" + length);
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> PackedTiles.open(truncated));
+        }
+        Path withoutTiles = directory.resolve("without-tiles");
+        Files.write(withoutTiles, Arrays.copyOf(bytes, bytes.length - 100));
+        assertThrows(IOException.class, () -> PackedTiles.open(withoutTiles));
+    }
+
+    @Test
+    void rejectsWrongMagicAndVersion() throws IOException {
+        byte[] bytes = Files.readAllBytes(pack);
+        bytes[0] = 'X';
+        Path garbled = directory.resolve("garbled");
+        Files.write(garbled, bytes);
+        assertThrows(IOException.class, () -> PackedTiles.open(garbled));
+    }
+
+    @Test
+    void rejectsAnIndexLargerThanTheFileWithoutAllocatingIt() throws IOException {
+        // One level whose face needs 6 * 2^40 one-pixel tiles
+        assertThrows(IOException.class, () -> PackedTiles.open(header(1, 1 << 20)));
+        assertThrows(IOException.class, () -> PackedTiles.open(header(1, Integer.MAX_VALUE)));
+        assertThrows(IOException.class, () -> PackedTiles.open(header(64, 64, 64)));
+        assertThrows(IOException.class, () -> PackedTiles.open(header(64, 128)));
+        assertThrows(IOException.class, () -> PackedTiles.open(header(64, 0)));
+    }
+
+    private Path header(int tileSize, int... faceSizes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(PackedTiles.MAGIC);
+            out.writeInt(PackedTiles.FORMAT_VERSION);
+            out.writeLong(0);
+            out.writeInt(tileSize);
+            out.writeInt(faceSizes.length);
+            for (int faceSize : faceSizes) {
+                out.writeInt(faceSize);
+            }
+            out.write(new byte[64]);
+        }
+        Path file = Files.createTempFile(directory, "header", ".tiles");
+        Files.write(file, bytes.toByteArray());
+        return file;
+    }
+
+    private static byte[] tileBytes(PackedTiles tiles, int tile) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        tiles.writeTile(tile, out, 0, tiles.length(tile));
+        assertEquals(tiles.length(tile), out.size());
+        return out.toByteArray();
+    }
+}
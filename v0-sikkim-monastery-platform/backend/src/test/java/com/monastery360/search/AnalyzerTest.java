@@ -0,0 +1,90 @@
+package com.monastery360.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnalyzerTest {
+
+    private final Analyzer analyzer = new Analyzer();
+
+    @Test
+    void devanagariAndLatinSpellingsProduceTheSameTerm() {
+        assertEquals(terms("Rumtek"), terms("रुम्तेक"));
+        assertEquals(Arrays.asList("rumtek"), terms("रुम्तेक"));
+        assertEquals(Arrays.asList("rumtek"), terms("रुमटेक"));
+        assertEquals(terms("Tashiding"), terms("ताशिदिङ"));
+    }
+
+    @Test
+    void transliterationHandlesSchwaAnusvaraAndDigits() {
+        assertEquals(Arrays.asList("kamal"), terms("कमल"));
+        assertEquals(Arrays.asList("ka"), terms("क"));
+        assertEquals(Arrays.asList("sant"), terms("संत"));
+        assertEquals(Arrays.asList("kumbh"), terms("कुंभ"));
+        assertEquals(Arrays.asList("1705"), terms("१७०५"));
+    }
+
+    @Test
+    void latinTermsAreFoldedAndStemmed() {
+        assertEquals(Arrays.asList("monastery", "rumtek"), terms("The Monasteries of Rumtek"));
+        assertEquals(Arrays.asList("festival", "mask", "dance"), terms("Festivals, masks & dances!"));
+        assertEquals(Arrays.asList("glass", "bus"), terms("glass bus"));
+        assertEquals(Arrays.asList("cafe", "losar"), terms("Café LOSAR"));
+        assertEquals(Arrays.asList("cafe"), terms("Café"));
+    }
+
+    @Test
+    void wIsFoldedToV() {
+        assertEquals(terms("Vangdi"), terms("Wangdi"));
+        assertEquals(Arrays.asList("dzongu", "valk"), terms("Dzongu walk"));
+    }
+
+    @Test
+    void nativeSuffixesAreStrippedButShortStemsAndConjunctsAreKept() {
+        assertEquals(terms("गुम्बा"), terms("गुम्बाहरूमा"));
+        assertEquals(terms("गुम्बा"), terms("गुम्बाको"));
+        assertEquals(Arrays.asList("lama"), terms("लामा"));
+        assertEquals(Arrays.asList("thangka"), terms("थाङ्का"));
+        // Hindi oblique plurals keep the vowel of the singular
+        assertEquals(terms("देवी"), terms("देवियों"));
+        assertEquals(terms("महिला"), terms("महिलाओं"));
+        // Too short to strip: कथाओं keeps its ending rather than losing a syllable
+        assertEquals(Arrays.asList("kathaon"), terms("कथाओं"));
+    }
+
+    @Test
+    void stopwordsAreDroppedInEveryScript() {
+        assertEquals(Arrays.asList("gompa"), terms("the gompa is at"));
+        assertEquals(terms("गुम्बा"), terms("यो गुम्बा हो"));
+        assertEquals(terms("मंदिर"), terms("मंदिर में है"));
+    }
+
+    @Test
+    void joinersStayInsideAWord() {
+        assertEquals(terms("रुम्तेक"), terms("रुम्\u200Dतेक"));
+        assertEquals(terms("रुम्तेक"), terms("रुम्\u200Cतेक"));
+    }
+
+    @Test
+    void longTokensGrowTheBuffers() {
+        char[] chars = new char[200];
+        Arrays.fill(chars, 'k');
+        assertEquals(Arrays.asList(new String(chars)), terms(new String(chars)));
+        StringBuilder devanagari = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            devanagari.append("का");
+        }
+        assertEquals(1, terms(devanagari.toString()).size());
+    }
+
+    private List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        analyzer.analyze(text, (buffer, length) -> terms.add(new String(buffer, 0, length)));
+        return terms;
+    }
+}
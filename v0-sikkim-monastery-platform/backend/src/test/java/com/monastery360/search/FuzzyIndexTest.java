@@ -0,0 +1,140 @@
+package com.monastery360.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FuzzyIndexTest {
+
+    @Test
+    void findsMisspellingsWithinTheirEditBudget() {
+        TermDictionary terms = dictionary("rumtek", "losar", "enchey", "pemayangtse", "tashiding", "lama", "gompa");
+        FuzzyIndex index = FuzzyIndex.build(terms);
+        assertEquals(singleton("rumtek", 1), search(index, terms, "rumtec", 1));
+        assertEquals(singleton("losar", 1), search(index, terms, "losaar", 1));
+        assertEquals(singleton("pemayangtse", 1), search(index, terms, "pemayangtsee", 2));
+        assertEquals(singleton("pemayangtse", 2), search(index, terms, "pemaiangtze", 2));
+        assertEquals(new TreeMap<String, Integer>(), search(index, terms, "rumtec", 0));
+        assertEquals(new TreeMap<String, Integer>(), search(index, terms, "monastery", 2));
+    }
+
+    @Test
+    void editBudgetGrowsWithTermLength() {
+        assertEquals(0, FuzzyIndex.maxDistance(3));
+        assertEquals(1, FuzzyIndex.maxDistance(4));
+        assertEquals(1, FuzzyIndex.maxDistance(7));
+        assertEquals(2, FuzzyIndex.maxDistance(8));
+        assertEquals(2, FuzzyIndex.maxDistance(20));
+    }
+
+    @Test
+    void matchesBruteForceLevenshtein() {
+        Random random = new Random(3);
+        List<String> vocabulary = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            vocabulary.add(randomWord(random, 2 + random.nextInt(10)));
+        }
+        TermDictionary terms = dictionary(vocabulary.toArray(new String[0]));
+        FuzzyIndex index = FuzzyIndex.build(terms);
+        for (int q = 0; q < 300; q++) {
+            String query = q % 2 == 0
+                    ? mutate(random, vocabulary.get(random.nextInt(vocabulary.size())))
+                    : randomWord(random, 1 + random.nextInt(12));
+            for (int k = 0; k <= 2; k++) {
+                TreeMap<String, Integer> expected = new TreeMap<>();
+                for (int t = 0; t < terms.size(); t++) {
+                    int d = levenshtein(terms.term(t), query);
+                    if (d <= k) {
+                        expected.put(terms.term(t), d);
+                    }
+                }
+                assertEquals(expected, search(index, terms, query, k), query + " within " + k);
+            }
+        }
+    }
+
+    @Test
+    void emptyVocabularyMatchesNothing() {
+        TermDictionary terms = new TermDictionary();
+        assertTrue(search(FuzzyIndex.build(terms), terms, "rumtek", 2).isEmpty());
+    }
+
+    private static TreeMap<String, Integer> search(FuzzyIndex index, TermDictionary terms, String query, int k) {
+        FuzzyIndex.Matches matches = new FuzzyIndex.Matches();
+        index.search(query.toCharArray(), query.length(), k, matches);
+        TreeMap<String, Integer> found = new TreeMap<>();
+        for (int i = 0; i < matches.count(); i++) {
+            found.put(terms.term(matches.termId(i)), matches.distance(i));
+        }
+        return found;
+    }
+
+    private static TreeMap<String, Integer> singleton(String term, int distance) {
+        TreeMap<String, Integer> map = new TreeMap<>();
+        map.put(term, distance);
+        return map;
+    }
+
+    private static TermDictionary dictionary(String... words) {
+        TermDictionary terms = new TermDictionary();
+        for (String word : words) {
+            terms.add(word.toCharArray(), word.length());
+        }
+        return terms;
+    }
+
+    // A small alphabet, so random words have plenty of near neighbours
+    private static String randomWord(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = "aeiklmnrst".charAt(random.nextInt(10));
+        }
+        return new String(chars);
+    }
+
+    private static String mutate(Random random, String word) {
+        StringBuilder mutated = new StringBuilder(word);
+        for (int edits = random.nextInt(4); edits > 0; edits--) {
+            int at = random.nextInt(mutated.length() + 1);
+            switch (random.nextInt(3)) {
+                case 0:
+                    mutated.insert(at, 'o');
+                    break;
+                case 1:
+                    if (at < mutated.length()) {
+                        mutated.deleteCharAt(at);
+                    }
+                    break;
+                default:
+                    if (at < mutated.length()) {
+                        mutated.setCharAt(at, 'z');
+                    }
+                    break;
+            }
+        }
+        return mutated.length() == 0 ? "a" : mutated.toString();
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = d[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                d[i][j] = Math.min(substitution, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,63 @@
+package com.monastery360.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryContextTest {
+
+    private static final String[] NAMES = {"Rumtek", "Enchey", "Pemayangtse", "Sangachoeling", "Losar", "Lossar"};
+
+    private final QueryContext context;
+
+    QueryContextTest() {
+        InvertedIndex.Builder builder = new InvertedIndex.Builder();
+        for (String name : NAMES) {
+            builder.startDocument();
+            builder.add(Field.NAME, name);
+        }
+        InvertedIndex index = builder.build();
+        context = new QueryContext(index, FuzzyIndex.build(index.terms()));
+    }
+
+    @Test
+    void exactMatchOutranksTheSameMatchMisspelled() {
+        assertEquals(names("Rumtek", "Enchey"), search("rumtek enchei"));
+        assertEquals(names("Enchey", "Rumtek"), search("rumtec enchey"));
+    }
+
+    @Test
+    void oneEditOutranksTwo() {
+        assertEquals(names("Pemayangtse", "Sangachoeling"), search("pemayangtsi sangachoelixx"));
+        assertEquals(names("Sangachoeling", "Pemayangtse"), search("pemayangtxx sangachoelinx"));
+    }
+
+    @Test
+    void knownTermsAreNotExpandedToTheirNeighbours() {
+        assertEquals(names("Losar"), search("losar"));
+        assertEquals(names("Lossar"), search("lossar"));
+        assertEquals(names("Losar", "Lossar"), search("losaar"));
+    }
+
+    @Test
+    void devanagariQueryFindsLatinName() {
+        assertEquals(names("Rumtek"), search("रुम्तेक"));
+    }
+
+    private List<String> search(String query) {
+        int hits = context.execute(query, 10, doc -> true);
+        List<String> found = new ArrayList<>();
+        for (int i = 0; i < hits; i++) {
+            found.add(NAMES[context.results()[i]]);
+        }
+        return found;
+    }
+
+    private static List<String> names(String... names) {
+        return Arrays.asList(names);
+    }
+}
@@ -6,7 +6,7 @@ import { Button } from './ui/button'
 import { Badge } from './ui/badge'
 import { Tabs, TabsContent, TabsList, TabsTrigger } from './ui/tabs'
 import { Archive, Image, BookOpen, Search, Info } from 'lucide-react'
-import { apiService, Archive as ArchiveType } from '@/lib/api'
+import { apiService, mediaUrl, Archive as ArchiveType } from '@/lib/api'
 
 // Fallback data for immediate display
 const fallbackArchives: ArchiveType[] = [
@@ -308,7 +308,7 @@ function ArchiveGrid({ archives, selectedArchive, onArchiveSelect, getCategoryIc
           <div className="relative">
             <div className="w-full h-32 bg-gray-200 rounded-lg overflow-hidden mb-3">
               <img
-                src={archive.image}
+                src={mediaUrl(archive.image, 480)}
                 alt={archive.title}
                 className="w-full h-full object-cover"
               />
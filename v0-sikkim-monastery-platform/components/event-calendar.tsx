@@ -23,6 +23,16 @@ const getFutureDate = (daysFromNow: number) => {
   return `${year}-${month}-${day}` // Returns YYYY-MM-DD format
 }
 
+// Local calendar date as YYYY-MM-DD, without the UTC shift of toISOString()
+const toIsoDate = (date: Date) => {
+  const month = String(date.getMonth() + 1).padStart(2, '0')
+  const day = String(date.getDate()).padStart(2, '0')
+  return `${date.getFullYear()}-${month}-${day}`
+}
+
+// Occurrences of a recurring festival share its id, so a card is identified by id and date
+const occurrenceKey = (festival: Festival) => `${festival.id}-${festival.date}`
+
 const fallbackFestivals: Festival[] = [
   {
     id: 1,
@@ -196,7 +206,9 @@ export default function EventCalendar() {
           setTimeout(() => reject(new Error('Request timeout')), 2000)
         )
         
-        const festivalsPromise = apiService.getFestivals()
+        const today = new Date()
+        const until = new Date(today.getFullYear(), today.getMonth() + 3, today.getDate())
+        const festivalsPromise = apiService.getFestivalsBetween(toIsoDate(today), toIsoDate(until))
         
         const data = await Promise.race([festivalsPromise, timeoutPromise]) as Festival[]
         
@@ -338,9 +350,9 @@ export default function EventCalendar() {
         <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6 mb-6">
           {displayFestivals.length > 0 ? displayFestivals.map((festival) => (
             <FestivalCard
-              key={festival.id}
+              key={occurrenceKey(festival)}
               festival={festival}
-              isSelected={selectedFestival?.id === festival.id}
+              isSelected={selectedFestival !== null && occurrenceKey(selectedFestival) === occurrenceKey(festival)}
               onSelect={setSelectedFestival}
               onLearnMore={handleLearnMore}
             />
@@ -37,7 +37,8 @@ export default function InteractiveMap({ onMonasterySelect }: InteractiveMapProp
     
     const fetchMonasteries = async () => {
       try {
-        const data = await apiService.getMonasteries()
+        // Initial view covers Sikkim; later loads follow the map viewport
+        const data = await apiService.getMonasteriesInBounds(27.0, 88.0, 28.2, 88.95)
         setMonasteries(data)
       } catch (error) {
         console.error('Failed to fetch monasteries:', error)
@@ -92,6 +93,30 @@ export default function InteractiveMap({ onMonasterySelect }: InteractiveMapProp
     }
   }, [])
 
+  useEffect(() => {
+    if (!mapRef) return
+
+    const fetchVisibleMonasteries = async () => {
+      const bounds = mapRef.getBounds()
+      try {
+        const data = await apiService.getMonasteriesInBounds(
+          Math.max(-90, bounds.getSouth()),
+          Math.max(-180, bounds.getWest()),
+          Math.min(90, bounds.getNorth()),
+          Math.min(180, bounds.getEast())
+        )
+        setMonasteries(data)
+      } catch (error) {
+        console.error('Failed to fetch monasteries in view:', error)
+      }
+    }
+
+    mapRef.on('moveend', fetchVisibleMonasteries)
+    return () => {
+      mapRef.off('moveend', fetchVisibleMonasteries)
+    }
+  }, [mapRef])
+
   const handleMonasteryClick = (monastery: Monastery) => {
     setSelectedMonastery(monastery)
     onMonasterySelect?.(monastery)
@@ -5,7 +5,7 @@ import { Card } from './ui/card'
 import { Button } from './ui/button'
 import { Badge } from './ui/badge'
 import { Search, MapPin, Calendar, Archive, X } from 'lucide-react'
-import { apiService, SearchResults } from '@/lib/api'
+import { apiService, mediaUrl, SearchResults } from '@/lib/api'
 
 export default function SearchBar() {
   const [query, setQuery] = useState('')
@@ -144,7 +144,7 @@ export default function SearchBar() {
                       <div className="flex items-start gap-3">
                         <div className="w-16 h-16 bg-gray-200 rounded-lg overflow-hidden flex-shrink-0">
                           <img
-                            src={monastery.image}
+                            src={mediaUrl(monastery.image, 160)}
                             alt={monastery.name}
                             className="w-full h-full object-cover"
                           />
@@ -180,7 +180,7 @@ export default function SearchBar() {
                       <div className="flex items-start gap-3">
                         <div className="w-16 h-16 bg-gray-200 rounded-lg overflow-hidden flex-shrink-0">
                           <img
-                            src={festival.image}
+                            src={mediaUrl(festival.image, 160)}
                             alt={festival.name}
                             className="w-full h-full object-cover"
                           />
@@ -216,7 +216,7 @@ export default function SearchBar() {
                       <div className="flex items-start gap-3">
                         <div className="w-16 h-16 bg-gray-200 rounded-lg overflow-hidden flex-shrink-0">
                           <img
-                            src={archive.image}
+                            src={mediaUrl(archive.image, 160)}
                             alt={archive.title}
                             className="w-full h-full object-cover"
                           />
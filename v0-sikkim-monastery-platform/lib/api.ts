@@ -26,6 +26,8 @@ export interface Festival {
   duration: string
   significance: string
   image: string
+  recurrence?: string | null
+  endDate?: string
 }
 
 export interface Archive {
@@ -41,6 +43,40 @@ export interface Archive {
   image: string
 }
 
+export interface NearbyMonastery extends Monastery {
+  distanceKm: number
+}
+
+export interface PanoramaInfo {
+  id: number
+  monasteryId: number
+  title: string
+  tileSize: number
+  faces: string
+  levels: { faceSize: number; tiles: number }[]
+  version: string
+  tileUrl: string
+}
+
+export interface PageQuery {
+  limit?: number
+  after?: number
+  fields?: string[]
+  lang?: 'en' | 'ne' | 'hi'
+}
+
+export interface Page<T> {
+  items: T[]
+  nextCursor: number | null
+}
+
+export interface BatchResult {
+  monasteries?: Monastery[]
+  festivals?: Festival[]
+  archives?: Archive[]
+  missing?: { monasteries?: number[]; festivals?: number[]; archives?: number[] }
+}
+
 export interface AudioGuide {
   id: number
   monasteryId: number
@@ -61,6 +97,12 @@ export interface SearchResults {
 }
 
 // API Service Functions
+// Resized copy of a public/ image from the backend media service; other URLs pass through unchanged
+export function mediaUrl(image: string, width: number): string {
+  if (!image || !image.startsWith('/') || image.indexOf('/', 1) >= 0) return image
+  return `${API_BASE_URL}/media/${encodeURIComponent(image.slice(1))}?w=${width}`
+}
+
 export const apiService = {
   // Monasteries
   async getMonasteries(): Promise<Monastery[]> {
@@ -75,6 +117,18 @@ export const apiService = {
     return response.json()
   },
 
+  async getMonasteriesNear(lat: number, lng: number, radiusKm: number = 25, limit: number = 10): Promise<NearbyMonastery[]> {
+    const response = await fetch(`${API_BASE_URL}/monasteries/near?lat=${lat}&lng=${lng}&radiusKm=${radiusKm}&limit=${limit}`)
+    if (!response.ok) throw new Error('Failed to fetch nearby monasteries')
+    return response.json()
+  },
+
+  async getMonasteriesInBounds(minLat: number, minLng: number, maxLat: number, maxLng: number): Promise<NearbyMonastery[]> {
+    const response = await fetch(`${API_BASE_URL}/monasteries/bbox?minLat=${minLat}&minLng=${minLng}&maxLat=${maxLat}&maxLng=${maxLng}`)
+    if (!response.ok) throw new Error('Failed to fetch monasteries in view')
+    return response.json()
+  },
+
   async searchMonasteries(query: string): Promise<Monastery[]> {
     const response = await fetch(`${API_BASE_URL}/monasteries/search?q=${encodeURIComponent(query)}`)
     if (!response.ok) throw new Error('Failed to search monasteries')
@@ -103,6 +157,14 @@ export const apiService = {
     }
   },
 
+  // Occurrences between two inclusive ISO dates (at most 366 days apart), recurring festivals expanded
+  async getFestivalsBetween(from: string, to: string, monasteryId?: number): Promise<Festival[]> {
+    const monastery = monasteryId === undefined ? '' : `&monasteryId=${monasteryId}`
+    const response = await fetch(`${API_BASE_URL}/festivals?from=${from}&to=${to}${monastery}`)
+    if (!response.ok) throw new Error('Failed to fetch festivals in range')
+    return response.json()
+  },
+
   async getFestival(id: number): Promise<Festival> {
     const response = await fetch(`${API_BASE_URL}/festivals/${id}`)
     if (!response.ok) throw new Error('Failed to fetch festival')
@@ -134,6 +196,30 @@ export const apiService = {
     return response.json()
   },
 
+  // One page of a collection in id order; pass nextCursor back as `after` for the following page
+  async getPage<T>(collection: 'monasteries' | 'festivals' | 'archives', query: PageQuery): Promise<Page<Partial<T>>> {
+    const params = new URLSearchParams()
+    if (query.limit !== undefined) params.set('limit', String(query.limit))
+    if (query.after !== undefined) params.set('after', String(query.after))
+    if (query.fields?.length) params.set('fields', query.fields.join(','))
+    if (query.lang) params.set('lang', query.lang)
+    const response = await fetch(`${API_BASE_URL}/${collection}?${params.toString()}`)
+    if (!response.ok) throw new Error(`Failed to fetch ${collection}`)
+    const cursor = response.headers.get('X-Next-Cursor')
+    return { items: await response.json(), nextCursor: cursor === null ? null : Number(cursor) }
+  },
+
+  // Several entities of any type in one request; ids not found are listed under `missing`
+  async getBatch(ids: { monasteries?: number[]; festivals?: number[]; archives?: number[] }): Promise<BatchResult> {
+    const params = new URLSearchParams()
+    if (ids.monasteries?.length) params.set('monasteries', ids.monasteries.join(','))
+    if (ids.festivals?.length) params.set('festivals', ids.festivals.join(','))
+    if (ids.archives?.length) params.set('archives', ids.archives.join(','))
+    const response = await fetch(`${API_BASE_URL}/batch?${params.toString()}`)
+    if (!response.ok) throw new Error('Failed to fetch batch')
+    return response.json()
+  },
+
   // Audio Guides
   async getAudioGuides(): Promise<AudioGuide[]> {
     const response = await fetch(`${API_BASE_URL}/audio-guides`)
@@ -147,16 +233,45 @@ export const apiService = {
     return response.json()
   },
 
+  // Absolute URL of a guide's track; the backend serves it with Range support for seeking
+  getAudioStreamUrl(guide: AudioGuide): string {
+    return `${API_BASE_URL}${guide.audioUrl.replace(/^\/api/, '')}`
+  },
+
   async getAudioGuidesByLanguage(language: string): Promise<AudioGuide[]> {
     const response = await fetch(`${API_BASE_URL}/audio-guides/language/${language}`)
     if (!response.ok) throw new Error('Failed to fetch audio guides by language')
     return response.json()
   },
 
+  // Panoramas
+  async getPanorama(id: number): Promise<PanoramaInfo> {
+    const response = await fetch(`${API_BASE_URL}/panoramas/${id}`)
+    if (!response.ok) throw new Error('Failed to fetch panorama')
+    return response.json()
+  },
+
+  // Absolute URL of one cube-face tile; face is one of the letters in PanoramaInfo.faces
+  getPanoramaTileUrl(panorama: PanoramaInfo, level: number, face: string, x: number, y: number): string {
+    const path = panorama.tileUrl
+      .replace('{level}', String(level))
+      .replace('{face}', face)
+      .replace('{x}', String(x))
+      .replace('{y}', String(y))
+    return `${API_BASE_URL}${path.replace(/^\/api/, '')}`
+  },
+
   // Search
   async searchAll(query: string): Promise<SearchResults> {
     const response = await fetch(`${API_BASE_URL}/search?q=${encodeURIComponent(query)}`)
     if (!response.ok) throw new Error('Failed to search')
     return response.json()
+  },
+
+  async getSuggestions(prefix: string, limit: number = 5): Promise<string[]> {
+    const response = await fetch(`${API_BASE_URL}/suggest?prefix=${encodeURIComponent(prefix)}&limit=${limit}`)
+    if (!response.ok) throw new Error('Failed to fetch suggestions')
+    const data = await response.json()
+    return data.suggestions
   }
 }